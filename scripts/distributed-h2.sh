@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# 같은 H2 파일 DB에 매니저 1개와 워커 N개(기본 2)를 띄워 분산 모드로 allDataGenerationJob을 실행한다
+# 사용법: scripts/distributed-h2.sh [워커 수]
+# 모든 프로세스가 정상 종료하고, 파티션이 여러 프로세스에 나뉘어 실행됐는지 로그에서 확인한다
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+WORKERS=${1:-2}
+JAR=build/libs/todoktodok-batch-0.0.1-SNAPSHOT.jar
+LOG_DIR=build/distributed-h2
+
+./gradlew -q bootJar
+rm -rf build/h2/distributed.* build/verification "$LOG_DIR"
+mkdir -p "$LOG_DIR"
+
+# 매니저가 먼저 스키마(JPA, Spring Batch 메타 테이블)를 만들고 파티션을 올리도록 워커는 잠시 뒤에 띄운다
+java -jar "$JAR" --spring.profiles.active=h2,distributed > "$LOG_DIR/manager.log" 2>&1 &
+PIDS=($!)
+sleep 10
+for i in $(seq 1 "$WORKERS"); do
+  java -jar "$JAR" --spring.profiles.active=h2,distributed --generation.distributed.role=worker \
+    > "$LOG_DIR/worker$i.log" 2>&1 &
+  PIDS+=($!)
+done
+
+FAILED=0
+for pid in "${PIDS[@]}"; do
+  wait "$pid" || FAILED=1
+done
+
+grep -h "Job 실행 완료" "$LOG_DIR/manager.log" || true
+grep -h "^\[" build/verification/report.txt 2>/dev/null || true
+for log in "$LOG_DIR"/*.log; do
+  echo "$(basename "$log" .log): 파티션 $(grep -c "파티션 실행:" "$log" || true)개 처리"
+done
+if [ "$FAILED" -ne 0 ] || ! grep -q "Job 실행 완료: allDataGenerationJob (COMPLETED)" "$LOG_DIR/manager.log"; then
+  echo "실패: $LOG_DIR 의 로그를 확인하세요." >&2
+  exit 1
+fi
+echo "완료: 로그는 $LOG_DIR"
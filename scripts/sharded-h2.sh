@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+# H2 파일 DB 두 개(build/h2/shard0, shard1)에 shardedDataGenerationJob을 실행하고 샤드별 건수를 확인한다
+# 회원과 책은 모든 샤드에 count만큼 복제되고, 토론/댓글/답글은 샤드 합계가 count와 같아야 한다
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=build/libs/todoktodok-batch-0.0.1-SNAPSHOT.jar
+LOG=build/sharded-h2.log
+
+./gradlew -q bootJar
+# 샤드 테이블은 비어 있어야 하므로 이전 실행의 샤드 DB를 지운다
+rm -f build/h2/shard0.* build/h2/shard1.*
+mkdir -p build
+
+STATUS=0
+java -jar "$JAR" --spring.profiles.active=h2,sharded > "$LOG" 2>&1 || STATUS=$?
+
+grep -h "Job 실행 완료\|\[샤드 " "$LOG" || true
+if [ "$STATUS" -ne 0 ] || ! grep -q "Job 실행 완료: shardedDataGenerationJob (COMPLETED)" "$LOG"; then
+  echo "실패: $LOG 를 확인하세요." >&2
+  exit 1
+fi
+
+# "[샤드 0] member 1,000 book 2,000 discussion 9,987 comment ... reply ..." 줄을 합산해 설정한 건수와 비교한다
+grep -h "\[샤드 " "$LOG" | sed 's/.*\[샤드 [0-9]*\]//; s/,//g' | awk '
+  { for (i = 1; i < NF; i += 2) { sum[$i] += $(i + 1); if (!($i in min) || $(i + 1) < min[$i]) min[$i] = $(i + 1) } shards++ }
+  END {
+    ok = shards == 2 && min["member"] == 1000 && min["book"] == 2000 \
+      && sum["discussion"] == 20000 && sum["comment"] == 20000 && sum["reply"] == 10000
+    printf "샤드 %d개, 토론 %d, 댓글 %d, 답글 %d건\n", shards, sum["discussion"], sum["comment"], sum["reply"]
+    exit ok ? 0 : 1
+  }' || { echo "실패: 샤드별 건수가 설정과 맞지 않습니다." >&2; exit 1; }
+echo "완료: 로그는 $LOG"
@@ -0,0 +1,157 @@
+package todoktodok.batch.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.batch.BatchAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import todoktodok.batch.config.GenerationProperties;
+import todoktodok.batch.generator.BookRowGenerator;
+import todoktodok.batch.generator.DiscussionRowGenerator;
+import todoktodok.batch.generator.IdPool;
+import todoktodok.batch.generator.IndexSampler;
+import todoktodok.batch.generator.MemberRowGenerator;
+import todoktodok.batch.generator.TextGenerators;
+import todoktodok.batch.row.BookRow;
+import todoktodok.batch.row.DiscussionRow;
+import todoktodok.batch.row.MemberRow;
+import todoktodok.batch.writer.BulkLoader;
+import todoktodok.batch.writer.RowWriterConfig;
+
+// 실제 쓰기 빈(RowWriterConfig)으로 토론 청크 하나를 임베디드 H2에 저장하는 비용, 생성 비용은 제외한다
+// 점수는 초당 저장 행 수다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final long SEED = 20251018L;
+
+    // jpa: saveAll, jpa-batched: saveAll + hibernate.jdbc.batch_size, jdbc: JDBC 배치 INSERT, bulk-load: CSV + CSVREAD
+    @Param({"jpa", "jpa-batched", "jdbc", "bulk-load"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private ItemWriter<DiscussionRow> writer;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private Chunk<DiscussionRow> chunk;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--generation.discussion.write-mode=" + ("jpa-batched".equals(mode) ? "jpa" : mode)));
+        if ("jpa-batched".equals(mode)) {
+            args.add("--spring.jpa.properties.hibernate.jdbc.batch_size=" + CHUNK_SIZE);
+            args.add("--spring.jpa.properties.hibernate.order_inserts=true");
+        }
+        context = new SpringApplicationBuilder(PersistenceContext.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+
+        writer = writer(DiscussionRow.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        // 외래 키 대상이 될 회원과 책 한 건씩
+        MemberRow member = new MemberRowGenerator(SEED).process(1L);
+        TextGenerators text = new TextGenerators(new GenerationProperties());
+        BookRow book = new BookRowGenerator(SEED, text.getSummary()).process(1L);
+        transactionTemplate.executeWithoutResult(status -> {
+            write(writer(MemberRow.class), new Chunk<>(List.of(member)));
+            write(writer(BookRow.class), new Chunk<>(List.of(book)));
+        });
+
+        long memberId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM member", Long.class);
+        long bookId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM book", Long.class);
+        DiscussionRowGenerator generator = new DiscussionRowGenerator(SEED,
+                IdPool.of(new long[]{memberId}, 1), IndexSampler.uniform(1),
+                IdPool.of(new long[]{bookId}, 1), IndexSampler.uniform(1), new String[]{book.title()},
+                text.getDiscussion());
+        List<DiscussionRow> rows = new ArrayList<>(CHUNK_SIZE);
+        for (long index = 1; index <= CHUNK_SIZE; index++) {
+            rows.add(generator.process(index));
+        }
+        chunk = new Chunk<>(rows);
+    }
+
+    // 측정 반복마다 테이블을 비워 인메모리 DB가 계속 커지지 않게 한다 (comment가 참조하므로 TRUNCATE 대신 DELETE)
+    @TearDown(Level.Iteration)
+    public void clear() {
+        jdbcTemplate.execute("DELETE FROM discussion");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public void writeChunk() {
+        transactionTemplate.executeWithoutResult(status -> write(writer, chunk));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ItemWriter<T> writer(Class<T> rowType) {
+        return (ItemWriter<T>) context.getBeanProvider(ResolvableType.forClassWithGenerics(ItemWriter.class, rowType))
+                .getObject();
+    }
+
+    private static <T> void write(ItemWriter<T> writer, Chunk<T> chunk) {
+        try {
+            writer.write(chunk);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 배치 Job 없이 엔티티, Repository, 쓰기 빈만 띄운다
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = BatchAutoConfiguration.class)
+    @EnableJpaAuditing
+    @EntityScan("todoktodok.batch.entity")
+    @EnableJpaRepositories("todoktodok.batch.repository")
+    @EnableConfigurationProperties(GenerationProperties.class)
+    @Import({RowWriterConfig.class, BulkLoader.class})
+    static class PersistenceContext {
+    }
+}
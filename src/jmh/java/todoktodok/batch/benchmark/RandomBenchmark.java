@@ -0,0 +1,95 @@
+package todoktodok.batch.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import todoktodok.batch.generator.EntityType;
+import todoktodok.batch.generator.IdPool;
+import todoktodok.batch.generator.IndexSampler;
+import todoktodok.batch.generator.RowHash;
+
+// 행 생성의 구성 요소: 카운터 난수, 분포별 인덱스 추출, ID 풀 조회
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomBenchmark {
+
+    private static final int POOL_SIZE = 1_000_000;
+
+    private final RowHash hash = new RowHash(20251018L, EntityType.COMMENT);
+    private IndexSampler uniform;
+    private IndexSampler zipf;
+    private IdPool rangePool;
+    private IdPool arrayPool;
+    private long index;
+
+    @Setup
+    public void setUp() {
+        uniform = IndexSampler.uniform(POOL_SIZE);
+        zipf = IndexSampler.zipf(POOL_SIZE, 1.0);
+
+        // 1%가 삭제된 PK (범위 + 누락 ID 표현)와 2/3가 삭제된 PK (배열 표현)
+        rangePool = pool(id -> id % 100 != 0);
+        arrayPool = pool(id -> id % 3 == 1);
+    }
+
+    // 비교 기준: 상태를 가진 스레드 로컬 난수
+    @Benchmark
+    public long threadLocalRandom() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    @Benchmark
+    public long rowHashNext() {
+        return hash.next(++index, 0);
+    }
+
+    @Benchmark
+    public int rowHashNextInt() {
+        return hash.nextInt(++index, 0, 1000);
+    }
+
+    @Benchmark
+    public int uniformSample() {
+        return uniform.sample(hash.next(++index, 0));
+    }
+
+    @Benchmark
+    public int zipfSample() {
+        return zipf.sample(hash.next(++index, 0));
+    }
+
+    @Benchmark
+    public long rangePoolLookup() {
+        return rangePool.idAt(uniform.sample(hash.next(++index, 0)));
+    }
+
+    @Benchmark
+    public long arrayPoolLookup() {
+        return arrayPool.idAt(uniform.sample(hash.next(++index, 0)));
+    }
+
+    private IdPool pool(LongPredicate kept) {
+        long[] ids = new long[POOL_SIZE];
+        int size = 0;
+        for (long id = 1; size < POOL_SIZE; id++) {
+            if (kept.test(id)) {
+                ids[size++] = id;
+            }
+        }
+        return IdPool.of(ids, size);
+    }
+}
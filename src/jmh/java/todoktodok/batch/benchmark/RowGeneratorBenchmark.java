@@ -0,0 +1,105 @@
+package todoktodok.batch.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import todoktodok.batch.config.GenerationProperties;
+import todoktodok.batch.generator.BookRowGenerator;
+import todoktodok.batch.generator.CommentRowGenerator;
+import todoktodok.batch.generator.Distribution;
+import todoktodok.batch.generator.DiscussionRowGenerator;
+import todoktodok.batch.generator.IdPool;
+import todoktodok.batch.generator.IndexSampler;
+import todoktodok.batch.generator.MemberRowGenerator;
+import todoktodok.batch.generator.ReplyRowGenerator;
+import todoktodok.batch.generator.TextGenerators;
+import todoktodok.batch.row.BookRow;
+import todoktodok.batch.row.CommentRow;
+import todoktodok.batch.row.DiscussionRow;
+import todoktodok.batch.row.MemberRow;
+import todoktodok.batch.row.ReplyRow;
+
+// 엔티티별 행 생성 비용 (문자열 조합 + 난수 + 외래 키 샘플링), DB 없이 측정한다
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowGeneratorBenchmark {
+
+    private static final long SEED = 20251018L;
+    private static final int MEMBER_COUNT = 10_000;
+    private static final int BOOK_COUNT = 20_000;
+    private static final int DISCUSSION_COUNT = 1_000_000;
+    private static final int COMMENT_COUNT = 200_000;
+
+    @Param({"UNIFORM", "ZIPF"})
+    private Distribution distribution;
+
+    private MemberRowGenerator memberGenerator;
+    private BookRowGenerator bookGenerator;
+    private DiscussionRowGenerator discussionGenerator;
+    private CommentRowGenerator commentGenerator;
+    private ReplyRowGenerator replyGenerator;
+    private long index;
+
+    @Setup
+    public void setUp() {
+        memberGenerator = new MemberRowGenerator(SEED);
+        TextGenerators text = new TextGenerators(new GenerationProperties());
+        bookGenerator = new BookRowGenerator(SEED, text.getSummary());
+
+        String[] bookTitles = new String[BOOK_COUNT];
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            bookTitles[i] = bookGenerator.process(i + 1L).title();
+        }
+        discussionGenerator = new DiscussionRowGenerator(SEED,
+                IdPool.sequence(MEMBER_COUNT), sampler(MEMBER_COUNT),
+                IdPool.sequence(BOOK_COUNT), sampler(BOOK_COUNT), bookTitles, text.getDiscussion());
+        commentGenerator = new CommentRowGenerator(SEED,
+                IdPool.sequence(MEMBER_COUNT), sampler(MEMBER_COUNT),
+                IdPool.sequence(DISCUSSION_COUNT), sampler(DISCUSSION_COUNT), text.getComment());
+        replyGenerator = new ReplyRowGenerator(SEED,
+                IdPool.sequence(MEMBER_COUNT), sampler(MEMBER_COUNT),
+                IdPool.sequence(COMMENT_COUNT), sampler(COMMENT_COUNT), text.getReply());
+    }
+
+    @Benchmark
+    public MemberRow member() {
+        return memberGenerator.process(++index);
+    }
+
+    @Benchmark
+    public BookRow book() {
+        return bookGenerator.process(++index);
+    }
+
+    @Benchmark
+    public DiscussionRow discussion() {
+        return discussionGenerator.process(++index);
+    }
+
+    @Benchmark
+    public CommentRow comment() {
+        return commentGenerator.process(++index);
+    }
+
+    @Benchmark
+    public ReplyRow reply() {
+        return replyGenerator.process(++index);
+    }
+
+    private IndexSampler sampler(int size) {
+        return distribution == Distribution.ZIPF ? IndexSampler.zipf(size, 1.0) : IndexSampler.uniform(size);
+    }
+}
@@ -1,9 +1,11 @@
 package todoktodok.batch.config;
 
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @EnableBatchProcessing
+@EnableConfigurationProperties(GenerationProperties.class)
 public class BatchConfig {
-}
\ No newline at end of file
+}
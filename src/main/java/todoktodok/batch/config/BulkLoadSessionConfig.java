@@ -0,0 +1,36 @@
+package todoktodok.batch.config;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import todoktodok.batch.support.BulkLoadSession;
+import todoktodok.batch.support.BulkLoadSessionDataSource;
+
+@Configuration
+public class BulkLoadSessionConfig {
+
+    @Bean
+    public BulkLoadSession bulkLoadSession() {
+        return new BulkLoadSession();
+    }
+
+    // generation.bulk-session.enabled일 때만 DataSource를 감싼다 (꺼져 있으면 커넥션마다 추가 비용이 없다)
+    @Bean
+    public static BeanPostProcessor bulkLoadSessionDataSourcePostProcessor(Environment environment,
+                                                                         ObjectProvider<BulkLoadSession> session) {
+        boolean enabled = Binder.get(environment).bind("generation.bulk-session.enabled", Boolean.class).orElse(false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof BulkLoadSessionDataSource)) {
+                    return new BulkLoadSessionDataSource(dataSource, session.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
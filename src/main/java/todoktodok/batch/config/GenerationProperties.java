@@ -0,0 +1,415 @@
+package todoktodok.batch.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import todoktodok.batch.generator.Distribution;
+import todoktodok.batch.generator.TextModelType;
+import todoktodok.batch.job.DistributedRole;
+import todoktodok.batch.job.ExecutionMode;
+import todoktodok.batch.job.ResetMode;
+import todoktodok.batch.support.AdaptiveBatchSizer;
+import todoktodok.batch.writer.ShardStrategy;
+import todoktodok.batch.writer.WriteMode;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "generation")
+public class GenerationProperties {
+
+    // 행 i의 내용은 (seed, 엔티티, i)만으로 정해지므로 같은 seed로 실행하면 같은 데이터셋이 만들어진다
+    private long seed = 20251018L;
+
+    // 각 단계를 나눌 파티션 수 (파티션마다 스레드와 커넥션을 하나씩 사용)
+    private int gridSize = 4;
+
+    // 실패하거나 중단된 마지막 JobExecution이 있으면 새로 시작하지 않고 이어서 실행한다
+    private boolean restart = true;
+
+    // 마지막 실행이 STARTED로 남아 있으면 이 시간 동안 갱신이 없을 때만 강제 종료된 것으로 보고 FAILED로 바꿔 재시작한다
+    // 그보다 최근에 갱신됐으면 다른 프로세스가 실행 중일 수 있으므로 시작하지 않는다. 커밋 간격이 가장 긴 단계보다 길게 잡는다
+    private Duration restartStaleAfter = Duration.ofMinutes(30);
+
+    // true면 restart-stale-after를 기다리지 않고 STARTED로 남은 실행을 바로 FAILED로 바꿔 재시작한다
+    private boolean forceRestart;
+
+    // true면 각 엔티티의 count를 목표 건수로 보고, 테이블에 이미 있는 행을 뺀 나머지만 기존 번호에 이어서 생성한다
+    private boolean topUp;
+
+    private EntityProperties member = new EntityProperties(10_000, 100);
+    private EntityProperties book = new EntityProperties(20_000, 100);
+    private EntityProperties discussion = new EntityProperties(1_000_000, 500);
+    private EntityProperties comment = new EntityProperties(200_000, 1000);
+    private EntityProperties reply = new EntityProperties(100_000, 1000);
+
+    private BulkLoadProperties bulkLoad = new BulkLoadProperties();
+
+    private PipelineProperties pipeline = new PipelineProperties();
+
+    private DumpProperties dump = new DumpProperties();
+
+    private MetricsProperties metrics = new MetricsProperties();
+
+    private BulkSessionProperties bulkSession = new BulkSessionProperties();
+
+    private ContentProperties content = new ContentProperties();
+
+    private DistributedProperties distributed = new DistributedProperties();
+
+    private WriteLoadProperties writeLoad = new WriteLoadProperties();
+
+    private ReadWorkloadProperties readWorkload = new ReadWorkloadProperties();
+
+    private VerificationProperties verification = new VerificationProperties();
+
+    private AdaptiveBatchProperties adaptiveBatch = new AdaptiveBatchProperties();
+
+    private ShardingProperties sharding = new ShardingProperties();
+
+    private ResetProperties reset = new ResetProperties();
+
+    private TreeProperties tree = new TreeProperties();
+
+    private SizeTargetProperties sizeTarget = new SizeTargetProperties();
+
+    // 테이블 이름(member, book, discussion, comment, reply)으로 엔티티 설정을 찾는다
+    public EntityProperties entity(String table) {
+        return switch (table) {
+            case "member" -> member;
+            case "book" -> book;
+            case "discussion" -> discussion;
+            case "comment" -> comment;
+            case "reply" -> reply;
+            default -> throw new IllegalArgumentException("알 수 없는 엔티티입니다: " + table);
+        };
+    }
+
+    @Getter
+    @Setter
+    public static class EntityProperties {
+
+        private long count;
+
+        // 청크(트랜잭션) 하나에 담을 행 수, 커밋마다 생성 위치가 ExecutionContext에 저장된다
+        private int chunkSize;
+
+        // jpa: JpaRepository.saveAll, jdbc: JDBC 배치 INSERT, bulk-load: CSV 파일 + LOAD DATA/CSVREAD
+        private WriteMode writeMode = WriteMode.JPA;
+
+        // chunk: 생성과 쓰기를 청크마다 번갈아 실행, pipelined: 생성 스레드와 쓰기 스레드를 큐로 연결해 겹쳐 실행
+        private ExecutionMode execution = ExecutionMode.CHUNK;
+
+        // 부모 테이블별 외래 키 분포 (키: member, book, discussion, comment), 지정하지 않으면 균등 분포
+        private Map<String, DistributionProperties> distributions = new HashMap<>();
+
+        public EntityProperties() {
+        }
+
+        public EntityProperties(long count, int chunkSize) {
+            this.count = count;
+            this.chunkSize = chunkSize;
+        }
+
+        public DistributionProperties distribution(String parentTable) {
+            return distributions.getOrDefault(parentTable, new DistributionProperties());
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class DistributionProperties {
+
+        private Distribution type = Distribution.UNIFORM;
+
+        // zipf 분포의 지수 (클수록 상위 소수 행에 쏠린다)
+        private double exponent = 1.0;
+    }
+
+    @Getter
+    @Setter
+    public static class BulkLoadProperties {
+
+        // bulk-load 방식에서 청크마다 임시 CSV 파일을 만들 디렉터리
+        private String directory = System.getProperty("java.io.tmpdir");
+    }
+
+    @Getter
+    @Setter
+    public static class PipelineProperties {
+
+        // 파티션마다 행을 만드는 스레드 수
+        private int producers = 1;
+
+        // 파티션마다 큐를 비우는 가상 스레드 수, 각자 커넥션을 하나씩 사용한다
+        private int writers = 4;
+
+        // 큐에 쌓아 둘 수 있는 배치(chunk-size 행) 수, 가득 차면 생성 스레드가 기다린다
+        private int queueCapacity = 8;
+
+        // 태스크릿 한 번이 생성 스레드에 나눠 처리할 행 수, 진행 위치는 배치를 커밋할 때마다 ExecutionContext에 저장한다
+        private long segmentSize = 100_000;
+    }
+
+    @Getter
+    @Setter
+    public static class AdaptiveBatchProperties {
+
+        // true면 단계별 chunk-size를 시작 값으로 삼아, 배치 쓰기 시간을 재며 처리량이 가장 좋은 크기를 찾아간다
+        private boolean enabled;
+
+        private int minSize = 50;
+        private int maxSize = 20_000;
+
+        // 배치 하나의 쓰기 + 커밋 시간이 이 값을 넘으면 크기를 절반으로 줄인다
+        private Duration latencyCeiling = Duration.ofSeconds(1);
+
+        // 처리량을 비교하기 전에 같은 크기로 쓸 배치 수
+        private int window = 4;
+
+        public AdaptiveBatchSizer sizer(int initialSize) {
+            return enabled
+                    ? new AdaptiveBatchSizer(initialSize, minSize, maxSize, latencyCeiling, window)
+                    : AdaptiveBatchSizer.fixed(initialSize);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class ShardingProperties {
+
+        // shardedDataGenerationJob이 쓰는 샤드 DB 목록 (순서가 샤드 번호이므로 실행 사이에 바꾸지 않는다)
+        private List<ShardProperties> shards = new ArrayList<>();
+
+        // 토론, 댓글, 답글을 member_id로 나누는 방식 (modulo | hash), ShardFunction 빈을 등록하면 그 빈을 쓴다
+        private ShardStrategy function = ShardStrategy.MODULO;
+
+        // true면 Job을 시작할 때 각 샤드에 schema-shard.sql로 테이블을 만든다 (이미 있으면 그대로 둔다)
+        private boolean initializeSchema = true;
+    }
+
+    @Getter
+    @Setter
+    public static class ShardProperties {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+
+    @Getter
+    @Setter
+    public static class DumpProperties {
+
+        // dataExportJob이 덤프 파일을 쓰고 dataRestoreJob이 읽는 디렉터리
+        private String directory = "./build/dump";
+
+        // 파일 하나에 담을 행 수 (파일 하나가 파티션 하나)
+        private long rowsPerFile = 1_000_000;
+    }
+
+    @Getter
+    @Setter
+    public static class MetricsProperties {
+
+        // 지정하면 step 주기마다 Prometheus 텍스트 형식으로 메트릭을 덮어쓴다
+        private String prometheusFile;
+
+        // true면 step 주기마다 메트릭을 로그로 출력한다
+        private boolean console;
+
+        private Duration step = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class BulkSessionProperties {
+
+        // true면 allDataGenerationJob 앞뒤에서 외래 키/유니크 검사를 끄고, 끝난 뒤 집합 쿼리 한 번으로 검증한다
+        private boolean enabled;
+
+        // true면 대상 테이블의 외래 키와 보조 인덱스를 삭제했다가 마지막에 다시 만든다
+        private boolean dropIndexes;
+
+        private List<String> tables = List.of("discussion", "comment", "reply");
+    }
+
+    @Getter
+    @Setter
+    public static class DistributedProperties {
+
+        // true면 파티션을 이 프로세스에서 바로 실행하지 않고 JobRepository에 올려 두고, 여러 프로세스의 워커가 나눠 실행한다
+        private boolean enabled;
+
+        // manager: Job을 실행하면서 파티션도 처리한다, worker: Job은 실행하지 않고 파티션만 가져가 처리한다
+        private DistributedRole role = DistributedRole.MANAGER;
+
+        // 단계마다 나눌 파티션 수, 전체 워커 스레드 수(프로세스 수 * grid-size)보다 넉넉히 잡아야 늦게 붙은 워커도 일을 나눠 받는다
+        private int partitions = 16;
+
+        // 워커가 가져갈 파티션을, 매니저가 파티션 완료를 조회하는 주기
+        private Duration pollInterval = Duration.ofMillis(500);
+
+        // 워커 프로세스가 이 시간 동안 가져갈 파티션이 없으면 종료한다
+        private Duration idleTimeout = Duration.ofMinutes(1);
+
+        // 매니저가 한 단계의 파티션이 모두 끝나기를 기다리는 최대 시간
+        private Duration timeout = Duration.ofHours(6);
+
+        // 워커가 실행 중인 파티션의 LAST_UPDATED를 갱신하는 주기
+        private Duration heartbeatInterval = Duration.ofSeconds(10);
+
+        // 실행 중인 파티션이 이 시간 동안 갱신되지 않으면 매니저가 워커가 죽은 것으로 보고 실패로 처리한다
+        // 프로세스마다 시계로 LAST_UPDATED를 쓰므로 heartbeat-interval과 서버 간 시계 차이보다 넉넉히 잡는다
+        private Duration leaseTimeout = Duration.ofMinutes(2);
+    }
+
+    @Getter
+    @Setter
+    public static class WriteLoadProperties {
+
+        // 목표 초당 쓰기 수, ramp-up 동안 start-rate에서 rate까지 선형으로 올린다 (ramp-up이 0이면 처음부터 rate)
+        private double rate = 100;
+        private double startRate = 1;
+        private Duration rampUp = Duration.ZERO;
+
+        private Duration duration = Duration.ofMinutes(1);
+
+        // 동시에 진행 중인 쓰기 수 상한, 넘으면 다음 쓰기가 기다리고 기다린 시간도 지연에 포함된다
+        private int maxInFlight = 64;
+
+        // 작업 종류별 비율 (0이면 그 종류는 쓰지 않는다)
+        private int discussionWeight = 1;
+        private int commentWeight = 4;
+        private int replyWeight = 2;
+
+        private Duration reportInterval = Duration.ofSeconds(10);
+
+        // 지정하면 구간 히스토그램을 HdrHistogram 로그 형식으로 남긴다
+        private String histogramLog;
+    }
+
+    @Getter
+    @Setter
+    public static class ReadWorkloadProperties {
+
+        // 동시에 조회하는 클라이언트(가상 스레드) 수, 각 클라이언트는 응답을 받으면 바로 다음 쿼리를 보낸다
+        private int clients = 32;
+
+        // 워밍업 동안의 기록은 버리고 그 뒤 duration 동안 측정한다
+        private Duration warmup = Duration.ofSeconds(10);
+        private Duration duration = Duration.ofMinutes(1);
+
+        // 목록 조회의 LIMIT
+        private int pageSize = 20;
+
+        // 쿼리 종류별 비율 (0이면 그 쿼리는 실행하지 않는다)
+        private int discussionsByBookWeight = 4;
+        private int commentsByDiscussionWeight = 4;
+        private int repliesByCommentWeight = 2;
+        private int memberActivityWeight = 1;
+
+        private Duration reportInterval = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class VerificationProperties {
+
+        // true면 전체 생성 Job의 마지막에 테이블을 한 번씩 읽어 건수, 외래 키, 분포, 본문 길이를 확인한다
+        private boolean enabled = true;
+
+        // 검증 결과를 덮어쓸 보고서 파일
+        private String report = "./build/verification/report.txt";
+    }
+
+    @Getter
+    @Setter
+    public static class ResetProperties {
+
+        // truncate: 제약 검사를 잠시 끄고 자식 테이블부터 비운다
+        // shadow: 빈 새 테이블(<테이블>_shadow)을 만들어 채운 뒤 이름을 바꿔 넣으므로 조회하는 쪽은 반쯤 채워진 테이블을 보지 않는다
+        private ResetMode mode = ResetMode.TRUNCATE;
+
+        // shadow 모드에서 dump.directory의 덤프 파일을 새 테이블에 적재한 뒤 교체한다 (false면 빈 테이블로 교체)
+        private boolean loadDump;
+    }
+
+    @Getter
+    @Setter
+    public static class TreeProperties {
+
+        // treeDataGenerationJob: 토론 하나에 붙일 댓글 수, 댓글 하나에 붙일 답글 수 범위 (부모마다 min..max에서 고른다)
+        // 토론 수는 discussion.count, 청크 크기는 discussion.chunk-size(토론 수)를 따르고 comment/reply.count는 쓰지 않는다
+        private FanOutProperties comments = new FanOutProperties(0, 4);
+        private FanOutProperties replies = new FanOutProperties(0, 2);
+    }
+
+    @Getter
+    @Setter
+    public static class SizeTargetProperties {
+
+        // 지정하면 각 엔티티의 count 대신 데이터와 인덱스를 합친 디스크 크기가 이 값이 되도록 건수를 정한다 (예: 20GB)
+        private DataSize target;
+
+        // 엔티티별 건수 비율 (키: member, book, discussion, comment, reply), 비우면 설정된 count끼리의 비율을 따른다
+        private Map<String, Double> ratios = new HashMap<>();
+
+        // 행 크기를 재기 위해 임시 테이블(<테이블>_pilot)에 적재할 엔티티별 행 수, 0이면 적재하지 않고 추정치만 쓴다
+        private int pilotRows = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class FanOutProperties {
+
+        private int min;
+        private int max;
+
+        public FanOutProperties() {
+        }
+
+        public FanOutProperties(int min, int max) {
+            this.min = min;
+            this.max = max;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class ContentProperties {
+
+        // markov: 조각 종류 사이의 전이 규칙을 따라 잇는다, uniform: 조각을 서로 독립적으로 고른다
+        private TextModelType model = TextModelType.MARKOV;
+
+        // 지정하면 기본 어휘 대신 이 파일의 조각을 사용한다 (한 줄에 "종류<TAB>조각")
+        private String vocabulary;
+
+        // 본문 길이 범위(글자 수), 최대값은 컬럼 길이를 넘지 않게 잘린다
+        private LengthProperties summary = new LengthProperties(100, 255);
+        private LengthProperties discussion = new LengthProperties(150, 1000);
+        private LengthProperties comment = new LengthProperties(50, 300);
+        private LengthProperties reply = new LengthProperties(10, 100);
+    }
+
+    @Getter
+    @Setter
+    public static class LengthProperties {
+
+        private int min;
+        private int max;
+
+        public LengthProperties() {
+        }
+
+        public LengthProperties(int min, int max) {
+            this.min = min;
+            this.max = max;
+        }
+    }
+}
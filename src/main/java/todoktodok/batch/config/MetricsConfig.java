@@ -0,0 +1,63 @@
+package todoktodok.batch.config;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.logging.LoggingMeterRegistry;
+import io.micrometer.core.instrument.logging.LoggingRegistryConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import todoktodok.batch.config.GenerationProperties.MetricsProperties;
+import todoktodok.batch.metrics.PrometheusFileReporter;
+
+// Spring Batch가 기본으로 Metrics.globalRegistry에 기록하므로 같은 전역 레지스트리에 로컬 리포터를 붙인다
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig {
+
+    private final GenerationProperties properties;
+
+    @Bean(destroyMethod = "close")
+    public PrometheusMeterRegistry prometheusMeterRegistry() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        Metrics.addRegistry(registry);
+        new JvmMemoryMetrics().bindTo(Metrics.globalRegistry);
+        new JvmGcMetrics().bindTo(Metrics.globalRegistry);
+        return registry;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "generation.metrics", name = "prometheus-file")
+    public PrometheusFileReporter prometheusFileReporter(PrometheusMeterRegistry prometheusMeterRegistry) {
+        MetricsProperties metrics = properties.getMetrics();
+        return new PrometheusFileReporter(prometheusMeterRegistry, Path.of(metrics.getPrometheusFile()),
+                metrics.getStep());
+    }
+
+    // step 주기마다 카운터는 초당 처리량, 타이머는 평균/최대 시간으로 로그에 출력된다
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "generation.metrics", name = "console", havingValue = "true")
+    public LoggingMeterRegistry loggingMeterRegistry() {
+        Duration step = properties.getMetrics().getStep();
+        LoggingMeterRegistry registry = new LoggingMeterRegistry(new LoggingRegistryConfig() {
+            @Override
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public Duration step() {
+                return step;
+            }
+        }, Clock.SYSTEM);
+        Metrics.addRegistry(registry);
+        return registry;
+    }
+}
@@ -0,0 +1,42 @@
+package todoktodok.batch.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import todoktodok.batch.config.GenerationProperties.ShardProperties;
+import todoktodok.batch.writer.Shard;
+import todoktodok.batch.writer.Shards;
+
+// 샤드 DB는 DataSource 빈으로 등록하지 않는다 (기본 DataSource, JPA, JobRepository는 그대로 spring.datasource를 쓴다)
+@Configuration
+@RequiredArgsConstructor
+public class ShardingConfig {
+
+    private final GenerationProperties properties;
+
+    // 커넥션 풀은 첫 연결 때 만들어지므로 샤드를 설정해도 shardedDataGenerationJob을 실행하지 않으면 연결하지 않는다
+    @Bean
+    public Shards shards() {
+        List<ShardProperties> configured = properties.getSharding().getShards();
+        List<Shard> shards = new ArrayList<>(configured.size());
+        for (int i = 0; i < configured.size(); i++) {
+            ShardProperties shard = configured.get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + i);
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            // 파티션 스레드마다 청크를 모든 샤드에 동시에 쓰므로 샤드마다 grid-size개가 동시에 쓰인다
+            dataSource.setMaximumPoolSize(properties.getGridSize() + 1);
+            shards.add(new Shard(i, shard.getUrl(), dataSource, new JdbcTemplate(dataSource),
+                    new TransactionTemplate(new DataSourceTransactionManager(dataSource))));
+        }
+        return new Shards(shards);
+    }
+}
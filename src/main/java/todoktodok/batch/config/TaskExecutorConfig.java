@@ -0,0 +1,31 @@
+package todoktodok.batch.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@RequiredArgsConstructor
+public class TaskExecutorConfig {
+
+    private final GenerationProperties properties;
+
+    // 파티션 실행용. 병렬 Job에서는 두 단계의 파티션이 동시에 실행되므로 grid-size의 두 배를 둔다
+    @Bean
+    public TaskExecutor generationTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getGridSize() * 2);
+        executor.setMaxPoolSize(properties.getGridSize() * 2);
+        executor.setThreadNamePrefix("generation-");
+        return executor;
+    }
+
+    // split 흐름용. 흐름 스레드는 파티션이 끝나기를 기다리기만 하므로 파티션 풀과 나눠야 서로 막히지 않는다
+    @Bean
+    public TaskExecutor flowTaskExecutor() {
+        return new SimpleAsyncTaskExecutor("flow-");
+    }
+}
@@ -0,0 +1,36 @@
+package todoktodok.batch.generator;
+
+import org.springframework.batch.item.ItemProcessor;
+import todoktodok.batch.row.BookRow;
+
+public class BookRowGenerator implements ItemProcessor<Long, BookRow> {
+
+    private static final int GENRE = 0;
+    private static final int PUBLISHER = 1;
+    private static final int SUMMARY = 2;
+
+    private static final String[] GENRES = {"프로그래밍", "웹 개발", "데이터 과학", "인공지능", "알고리즘", "네트워크", "데이터베이스", "클라우드", "운영체제", "컴퓨터 구조", "소프트웨어 공학", "보안"};
+    private static final String[] PUBLISHERS = {"한빛미디어", "위키북스", "에이콘", "인사이트", "제이펍", "길벗"};
+
+    private final TextGenerator summaryText;
+    private final RowHash hash;
+
+    public BookRowGenerator(long seed, TextGenerator summaryText) {
+        this.summaryText = summaryText;
+        this.hash = new RowHash(seed, EntityType.BOOK);
+    }
+
+    @Override
+    public BookRow process(Long index) {
+        String genre = GENRES[hash.nextInt(index, GENRE, GENRES.length)];
+        String publisher = PUBLISHERS[hash.nextInt(index, PUBLISHER, PUBLISHERS.length)];
+
+        return new BookRow(
+                genre + " 완벽 가이드 " + index,
+                summaryText.generate(hash.next(index, SUMMARY), "이것은 " + genre + " 분야의 기술 서적입니다. ", ""),
+                "저자" + index,
+                publisher,
+                String.format("97%011d", index),
+                "https://example.com/book/" + index + ".jpg");
+    }
+}
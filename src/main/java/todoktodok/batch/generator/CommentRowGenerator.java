@@ -0,0 +1,64 @@
+package todoktodok.batch.generator;
+
+import org.springframework.batch.item.ItemProcessor;
+import todoktodok.batch.row.CommentRow;
+
+public class CommentRowGenerator implements ItemProcessor<Long, CommentRow> {
+
+    private static final int MEMBER = 0;
+    private static final int DISCUSSION = 1;
+    private static final int REACTION = 2;
+    private static final int CONTENT = 3;
+
+    private static final String[] REACTIONS = {
+            "정말 공감됩니다!",
+            "좋은 의견이네요.",
+            "저도 비슷하게 생각했어요.",
+            "다른 관점에서 생각해볼 수 있겠네요.",
+            "실용적인 접근이네요.",
+            "이 부분은 저는 다르게 구현했는데요.",
+            "상세한 설명 감사합니다.",
+            "실무에 바로 적용해봤습니다.",
+            "코드 예제가 도움이 되었어요."
+    };
+
+    private final IdPool memberIds;
+    private final IndexSampler memberSampler;
+    private final IdPool discussionIds;
+    private final IndexSampler discussionSampler;
+    private final TextGenerator contentText;
+    private final RowHash hash;
+
+    // 부모 ID를 호출하는 쪽에서 넘기는 경우 (계층 생성), generate만 사용한다
+    public CommentRowGenerator(long seed, IdPool memberIds, IndexSampler memberSampler, TextGenerator contentText) {
+        this(seed, memberIds, memberSampler, null, null, contentText);
+    }
+
+    public CommentRowGenerator(long seed, IdPool memberIds, IndexSampler memberSampler,
+                               IdPool discussionIds, IndexSampler discussionSampler, TextGenerator contentText) {
+        if (memberIds.isEmpty() || (discussionIds != null && discussionIds.isEmpty())) {
+            throw new IllegalStateException("회원 또는 토론 데이터가 없습니다.");
+        }
+        this.memberIds = memberIds;
+        this.memberSampler = memberSampler;
+        this.discussionIds = discussionIds;
+        this.discussionSampler = discussionSampler;
+        this.contentText = contentText;
+        this.hash = new RowHash(seed, EntityType.COMMENT);
+    }
+
+    @Override
+    public CommentRow process(Long index) {
+        return generate(index, discussionIds.idAt(discussionSampler.sample(hash.next(index, DISCUSSION))));
+    }
+
+    public CommentRow generate(long index, long discussionId) {
+        long memberId = memberIds.idAt(memberSampler.sample(hash.next(index, MEMBER)));
+        String reaction = REACTIONS[hash.nextInt(index, REACTION, REACTIONS.length)];
+
+        return new CommentRow(
+                contentText.generate(hash.next(index, CONTENT), reaction + " ", "(댓글 " + index + ")"),
+                memberId,
+                discussionId);
+    }
+}
@@ -0,0 +1,53 @@
+package todoktodok.batch.generator;
+
+import org.springframework.batch.item.ItemProcessor;
+import todoktodok.batch.row.DiscussionRow;
+
+public class DiscussionRowGenerator implements ItemProcessor<Long, DiscussionRow> {
+
+    private static final int MEMBER = 0;
+    private static final int BOOK = 1;
+    private static final int TOPIC = 2;
+    private static final int VIEW_COUNT = 3;
+    private static final int CONTENT = 4;
+
+    private static final String[] TOPICS = {"코드 구현", "설계 패턴", "알고리즘", "성능 최적화", "아키텍처", "실전 활용", "예제 분석", "개념 정리", "실습 과제"};
+
+    private final IdPool memberIds;
+    private final IndexSampler memberSampler;
+    private final IdPool bookIds;
+    private final IndexSampler bookSampler;
+    private final String[] bookTitles;
+    private final TextGenerator contentText;
+    private final RowHash hash;
+
+    public DiscussionRowGenerator(long seed, IdPool memberIds, IndexSampler memberSampler,
+                                  IdPool bookIds, IndexSampler bookSampler, String[] bookTitles,
+                                  TextGenerator contentText) {
+        if (memberIds.isEmpty() || bookIds.isEmpty()) {
+            throw new IllegalStateException("회원 또는 책 데이터가 없습니다.");
+        }
+        this.memberIds = memberIds;
+        this.memberSampler = memberSampler;
+        this.bookIds = bookIds;
+        this.bookSampler = bookSampler;
+        this.bookTitles = bookTitles;
+        this.contentText = contentText;
+        this.hash = new RowHash(seed, EntityType.DISCUSSION);
+    }
+
+    @Override
+    public DiscussionRow process(Long index) {
+        long memberId = memberIds.idAt(memberSampler.sample(hash.next(index, MEMBER)));
+        int bookIndex = bookSampler.sample(hash.next(index, BOOK));
+        String topic = TOPICS[hash.nextInt(index, TOPIC, TOPICS.length)];
+
+        return new DiscussionRow(
+                bookTitles[bookIndex] + "의 " + topic + "에 대한 토론 " + index,
+                contentText.generate(hash.next(index, CONTENT),
+                        "이 책의 " + topic + "에 대해 이야기해봅시다. ", "여러분의 의견을 자유롭게 남겨주세요."),
+                hash.nextInt(index, VIEW_COUNT, 1000),
+                memberId,
+                bookIds.idAt(bookIndex));
+    }
+}
@@ -0,0 +1,44 @@
+package todoktodok.batch.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.batch.item.ItemProcessor;
+import todoktodok.batch.row.CommentRow;
+import todoktodok.batch.row.DiscussionTree;
+import todoktodok.batch.row.DiscussionTree.CommentTree;
+import todoktodok.batch.row.ReplyRow;
+
+// 토론 행 번호 하나로 토론과 그 아래 댓글, 답글을 함께 만든다. 댓글과 답글의 부모는 고르지 않고 트리 구조로 정해진다
+public class DiscussionTreeGenerator implements ItemProcessor<Long, DiscussionTree> {
+
+    private final DiscussionRowGenerator discussionGenerator;
+    private final CommentRowGenerator commentGenerator;
+    private final ReplyRowGenerator replyGenerator;
+    private final TreeFanOut fanOut;
+
+    public DiscussionTreeGenerator(DiscussionRowGenerator discussionGenerator, CommentRowGenerator commentGenerator,
+                                   ReplyRowGenerator replyGenerator, TreeFanOut fanOut) {
+        this.discussionGenerator = discussionGenerator;
+        this.commentGenerator = commentGenerator;
+        this.replyGenerator = replyGenerator;
+        this.fanOut = fanOut;
+    }
+
+    @Override
+    public DiscussionTree process(Long index) {
+        int commentCount = fanOut.comments(index);
+        List<CommentTree> comments = new ArrayList<>(commentCount);
+        for (int k = 1; k <= commentCount; k++) {
+            long commentIndex = fanOut.commentIndex(index, k);
+            CommentRow comment = commentGenerator.generate(commentIndex, 0);
+
+            int replyCount = fanOut.replies(commentIndex);
+            List<ReplyRow> replies = new ArrayList<>(replyCount);
+            for (int r = 1; r <= replyCount; r++) {
+                replies.add(replyGenerator.generate(fanOut.replyIndex(commentIndex, r), 0));
+            }
+            comments.add(new CommentTree(comment, replies));
+        }
+        return new DiscussionTree(discussionGenerator.process(index), comments);
+    }
+}
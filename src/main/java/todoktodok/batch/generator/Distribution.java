@@ -0,0 +1,6 @@
+package todoktodok.batch.generator;
+
+public enum Distribution {
+    UNIFORM,
+    ZIPF
+}
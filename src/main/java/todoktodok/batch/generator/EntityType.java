@@ -0,0 +1,9 @@
+package todoktodok.batch.generator;
+
+public enum EntityType {
+    MEMBER,
+    BOOK,
+    DISCUSSION,
+    COMMENT,
+    REPLY
+}
@@ -0,0 +1,8 @@
+package todoktodok.batch.generator;
+
+// 본문 조각의 종류. 여는 문장으로 시작하고, 연결어 뒤에는 항상 문장이 온다
+public enum FragmentType {
+    OPENING,
+    BODY,
+    CONNECTOR
+}
@@ -0,0 +1,79 @@
+package todoktodok.batch.generator;
+
+// 행마다 본문 문자열을 만들지 않고 (앞 문장, 조각 번호들, 끝 문장)만 들고 있는 본문
+// CSV 경로는 미리 인코딩된 조각 바이트를 그대로 복사하고, JDBC/JPA 경로는 toString()으로 한 번만 문자열을 만든다
+public final class GeneratedText implements CharSequence {
+
+    // toString()은 스레드마다 하나씩 두는 버퍼에 조립한 뒤 복사한다
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final Vocabulary vocabulary;
+    private final String lead;
+    private final int[] fragments;
+    private final String tail;
+    private final int length;
+
+    GeneratedText(Vocabulary vocabulary, String lead, int[] fragments, String tail, int length) {
+        this.vocabulary = vocabulary;
+        this.lead = lead;
+        this.fragments = fragments;
+        this.tail = tail;
+        this.length = length;
+    }
+
+    public String lead() {
+        return lead;
+    }
+
+    public int fragmentCount() {
+        return fragments.length;
+    }
+
+    public byte[] encodedFragment(int position) {
+        return vocabulary.encoded(fragments[position]);
+    }
+
+    public String tail() {
+        return tail;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (index < lead.length()) {
+            return lead.charAt(index);
+        }
+        int offset = index - lead.length();
+        for (int fragment : fragments) {
+            int fragmentLength = vocabulary.length(fragment);
+            if (offset < fragmentLength) {
+                return vocabulary.fragment(fragment).charAt(offset);
+            }
+            offset -= fragmentLength;
+        }
+        return tail.charAt(offset);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.append(lead);
+        for (int fragment : fragments) {
+            buffer.append(vocabulary.fragment(fragment));
+        }
+        return buffer.append(tail).toString();
+    }
+}
@@ -0,0 +1,98 @@
+package todoktodok.batch.generator;
+
+import java.util.Arrays;
+
+// 외래 키 샘플링용 부모 PK 목록 (엔티티 대신 행당 최대 8바이트)
+public interface IdPool {
+
+    int size();
+
+    long idAt(int index);
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // 오름차순 PK 배열을 받아 빈 번호가 적으면 범위 + 누락 ID 표현으로 압축한다
+    static IdPool of(long[] sortedIds, int size) {
+        if (size == 0) {
+            return new ArrayIdPool(new long[0]);
+        }
+        long min = sortedIds[0];
+        long max = sortedIds[size - 1];
+        long gapCount = max - min + 1 - size;
+        if (gapCount >= size) {
+            return new ArrayIdPool(Arrays.copyOf(sortedIds, size));
+        }
+
+        long[] gaps = new long[(int) gapCount];
+        int gapIndex = 0;
+        for (int i = 1; i < size; i++) {
+            for (long missing = sortedIds[i - 1] + 1; missing < sortedIds[i]; missing++) {
+                gaps[gapIndex++] = missing;
+            }
+        }
+        return new RangeIdPool(min, size, gaps);
+    }
+
+    // 빈 번호 없는 1..count
+    static IdPool sequence(long count) {
+        return new RangeIdPool(1, Math.toIntExact(count), new long[0]);
+    }
+
+    final class ArrayIdPool implements IdPool {
+
+        private final long[] ids;
+
+        private ArrayIdPool(long[] ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+
+        @Override
+        public long idAt(int index) {
+            return ids[index];
+        }
+    }
+
+    final class RangeIdPool implements IdPool {
+
+        private final long min;
+        private final int size;
+        private final long[] gaps;
+
+        private RangeIdPool(long min, int size, long[] gaps) {
+            this.min = min;
+            this.size = size;
+            this.gaps = gaps;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        // index 앞에 위치한 누락 ID 수만큼 건너뛴다 (gaps[k] - min - k 는 단조 증가)
+        @Override
+        public long idAt(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            int low = 0;
+            int high = gaps.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (gaps[mid] - min - mid <= index) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return min + index + low;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package todoktodok.batch.generator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.stereotype.Component;
+
+// 파티션들이 같은 부모 ID 풀을 한 번만 로딩하도록 JobExecution 단위로 캐싱한다
+@Component
+@RequiredArgsConstructor
+public class IdPoolCache {
+
+    private final IdPoolLoader idPoolLoader;
+    private final JobRepository jobRepository;
+    private final Map<String, Object> cache = new ConcurrentHashMap<>();
+    private long jobExecutionId = -1;
+
+    public IdPool ids(StepExecution stepExecution, String table) {
+        return (IdPool) cached(stepExecution, table, () -> idPoolLoader.load(table));
+    }
+
+    // 병렬 Job에서 부모 단계와 겹쳐 실행할 때 사용한다. 부모 단계가 끝나면(이전 실행에서 끝났어도) 완성된 풀이 된다
+    public StreamingIdPool streaming(StepExecution stepExecution, String table, String parentStepName) {
+        JobExecution jobExecution = stepExecution.getJobExecution();
+        return (StreamingIdPool) cached(stepExecution, table + "#streaming",
+                () -> new StreamingIdPool(idPoolLoader, table, () -> isFinished(jobExecution, parentStepName)));
+    }
+
+    // 이번 실행에서 끝났거나, 재시작이라 이전 실행에서 이미 완료된 단계
+    private boolean isFinished(JobExecution jobExecution, String stepName) {
+        StepExecution last = jobRepository.getLastStepExecution(jobExecution.getJobInstance(), stepName);
+        if (last == null) {
+            return false;
+        }
+        if (last.getJobExecutionId().equals(jobExecution.getId())) {
+            return !last.getStatus().isRunning();
+        }
+        return last.getStatus() == BatchStatus.COMPLETED;
+    }
+
+    // 덤프 내보내기는 DB를 읽지 않으므로 부모가 빈 테이블에 1..count로 적재된다고 가정한다
+    public IdPool sequence(StepExecution stepExecution, String table, long count) {
+        return (IdPool) cached(stepExecution, table, () -> IdPool.sequence(count));
+    }
+
+    // 같은 부모 테이블과 분포라면 alias 테이블도 파티션끼리 공유한다
+    public IndexSampler sampler(StepExecution stepExecution, String table, int size, Distribution distribution,
+                                double exponent) {
+        return (IndexSampler) cached(stepExecution, table + "#" + distribution + "#" + exponent,
+                () -> distribution == Distribution.ZIPF
+                        ? IndexSampler.zipf(size, exponent)
+                        : IndexSampler.uniform(size));
+    }
+
+    public String[] column(StepExecution stepExecution, String table, String column) {
+        return (String[]) cached(stepExecution, table + "." + column, () -> idPoolLoader.loadColumn(table, column));
+    }
+
+    // 행 번호 1..count의 컬럼 값을 DB 대신 생성기로 다시 계산한다
+    public String[] column(StepExecution stepExecution, String table, String column, long count,
+                           LongFunction<String> valueAt) {
+        return (String[]) cached(stepExecution, table + "." + column, () -> {
+            String[] values = new String[Math.toIntExact(count)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = valueAt.apply(i + 1L);
+            }
+            return values;
+        });
+    }
+
+    private Object cached(StepExecution stepExecution, String key, Supplier<Object> loader) {
+        synchronized (this) {
+            if (jobExecutionId != stepExecution.getJobExecutionId()) {
+                jobExecutionId = stepExecution.getJobExecutionId();
+                cache.clear();
+            }
+        }
+        return cache.computeIfAbsent(key, ignored -> loader.get());
+    }
+}
@@ -0,0 +1,59 @@
+package todoktodok.batch.generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongConsumer;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class IdPoolLoader {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdPoolLoader(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    // 엔티티를 로딩하지 않고 PK만 커서로 읽어 long[]에 적재한다
+    public IdPool load(String table) {
+        long[][] buffer = {new long[FETCH_SIZE]};
+        int[] size = {0};
+
+        jdbcTemplate.query("SELECT id FROM " + table + " ORDER BY id", rs -> {
+            if (size[0] == buffer[0].length) {
+                buffer[0] = Arrays.copyOf(buffer[0], buffer[0].length * 2);
+            }
+            buffer[0][size[0]++] = rs.getLong(1);
+        });
+
+        IdPool pool = IdPool.of(buffer[0], size[0]);
+        log.info("{} ID {}개 로딩 완료 ({})", table, pool.size(), pool.getClass().getSimpleName());
+        return pool;
+    }
+
+    // lastId보다 큰 PK를 오름차순으로 넘긴다 (StreamingIdPool의 증분 조회)
+    public void loadAfter(String table, long lastId, LongConsumer consumer) {
+        jdbcTemplate.query("SELECT id FROM " + table + " WHERE id > ? ORDER BY id",
+                rs -> {
+                    consumer.accept(rs.getLong(1));
+                }, lastId);
+    }
+
+    // load(table)과 같은 순서(id 오름차순)로 컬럼 값을 읽는다
+    public String[] loadColumn(String table, String column) {
+        List<String> values = new ArrayList<>();
+        jdbcTemplate.query("SELECT " + column + " FROM " + table + " ORDER BY id",
+                rs -> {
+                    values.add(rs.getString(1));
+                });
+        return values.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,33 @@
+package todoktodok.batch.generator;
+
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+
+// minIndex..maxIndex 범위의 행 번호를 읽는다. 읽은 건수가 ExecutionContext에 저장되므로 재시작 시 이어서 생성한다
+public class IndexItemReader extends AbstractItemCountingItemStreamItemReader<Long> {
+
+    private final long minIndex;
+
+    public IndexItemReader(long minIndex, long maxIndex) {
+        this.minIndex = minIndex;
+        setName("generation.index");
+        setMaxItemCount(Math.toIntExact(maxIndex - minIndex + 1));
+    }
+
+    @Override
+    protected Long doRead() {
+        return minIndex + getCurrentItemCount() - 1;
+    }
+
+    // 행 번호는 읽은 건수만으로 계산되므로 앞선 항목을 다시 읽을 필요가 없다
+    @Override
+    protected void jumpToItem(int itemIndex) {
+    }
+
+    @Override
+    protected void doOpen() {
+    }
+
+    @Override
+    protected void doClose() {
+    }
+}
@@ -0,0 +1,94 @@
+package todoktodok.batch.generator;
+
+// 64비트 난수 하나를 [0, size) 인덱스로 바꾼다. 분포와 무관하게 한 번의 추출이 O(1)이다
+public interface IndexSampler {
+
+    int sample(long bits);
+
+    static IndexSampler uniform(int size) {
+        return bits -> (int) (((bits >>> 32) * size) >>> 32);
+    }
+
+    // 크기가 늘어나는 풀(StreamingIdPool)에서 호출 시점의 크기로 균등 추출한다
+    static IndexSampler uniform(IdPool pool) {
+        return bits -> (int) (((bits >>> 32) * pool.size()) >>> 32);
+    }
+
+    // 순위 k(0부터)의 가중치가 1 / (k + 1)^exponent 인 Zipf 분포, 인덱스 0(가장 작은 ID)이 가장 자주 뽑힌다
+    static IndexSampler zipf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1.0 / Math.pow(rank + 1, exponent);
+        }
+        return new AliasSampler(weights);
+    }
+
+    // Vose의 alias method: 열 하나를 균등하게 고르고, 그 열의 임계값과 비교해 자신 또는 alias를 반환한다
+    final class AliasSampler implements IndexSampler {
+
+        private final int[] alias;
+        private final int[] thresholds;
+
+        AliasSampler(double[] weights) {
+            int size = weights.length;
+            double sum = 0;
+            for (double weight : weights) {
+                sum += weight;
+            }
+
+            double[] scaled = new double[size];
+            int[] small = new int[size];
+            int[] large = new int[size];
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < size; i++) {
+                scaled[i] = weights[i] * size / sum;
+                if (scaled[i] < 1.0) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+
+            this.alias = new int[size];
+            this.thresholds = new int[size];
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+                thresholds[less] = toThreshold(scaled[less]);
+                alias[less] = more;
+                scaled[more] = scaled[more] + scaled[less] - 1.0;
+                if (scaled[more] < 1.0) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+            // 남은 열은 확률이 1이다. 임계값 0xFFFFFFFF와 같은 하위 비트도 자신을 반환하도록 alias를 자신으로 둔다
+            while (largeCount > 0) {
+                int full = large[--largeCount];
+                thresholds[full] = -1;
+                alias[full] = full;
+            }
+            while (smallCount > 0) {
+                int full = small[--smallCount];
+                thresholds[full] = -1;
+                alias[full] = full;
+            }
+        }
+
+        @Override
+        public int sample(long bits) {
+            int column = (int) (((bits >>> 32) * alias.length) >>> 32);
+            if (Integer.compareUnsigned((int) bits, thresholds[column]) < 0) {
+                return column;
+            }
+            return alias[column];
+        }
+
+        // 확률을 부호 없는 32비트 임계값으로 저장한다 (1.0은 0xFFFFFFFF)
+        private static int toThreshold(double probability) {
+            return (int) Math.min(0xFFFFFFFFL, (long) (probability * 4294967296.0));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package todoktodok.batch.generator;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// 조각 종류 사이의 1차 전이 규칙을 따른다: 시작 → 여는 문장, 문장 → 문장 | 연결어, 연결어 → 문장
+// 같은 조각이 연달아 나오지 않도록 직전 조각이 뽑히면 다음 후보로 넘어간다
+public class MarkovTextModel implements TextModel {
+
+    private final Vocabulary vocabulary;
+    private final int[] openings;
+    private final int[] afterSentence;
+    private final int[] afterConnector;
+
+    public MarkovTextModel(Vocabulary vocabulary) {
+        this.vocabulary = vocabulary;
+        this.openings = indicesOf(vocabulary, FragmentType.OPENING);
+        this.afterSentence = indicesOf(vocabulary, FragmentType.BODY, FragmentType.CONNECTOR);
+        this.afterConnector = indicesOf(vocabulary, FragmentType.BODY);
+    }
+
+    @Override
+    public int next(int previous, long bits) {
+        int[] candidates = candidatesAfter(previous);
+        int position = (int) (((bits >>> 32) * candidates.length) >>> 32);
+        if (candidates[position] == previous && candidates.length > 1) {
+            position = (position + 1) % candidates.length;
+        }
+        return candidates[position];
+    }
+
+    private int[] candidatesAfter(int previous) {
+        if (previous < 0) {
+            return openings;
+        }
+        return vocabulary.type(previous) == FragmentType.CONNECTOR ? afterConnector : afterSentence;
+    }
+
+    static int[] indicesOf(Vocabulary vocabulary, FragmentType... types) {
+        return IntStream.range(0, vocabulary.size())
+                .filter(index -> Arrays.asList(types).contains(vocabulary.type(index)))
+                .toArray();
+    }
+}
@@ -0,0 +1,28 @@
+package todoktodok.batch.generator;
+
+import org.springframework.batch.item.ItemProcessor;
+import todoktodok.batch.row.MemberRow;
+
+public class MemberRowGenerator implements ItemProcessor<Long, MemberRow> {
+
+    private static final int ROLE = 0;
+
+    private static final String[] ROLES = {"백엔드 개발자", "프론트엔드 개발자", "풀스택 개발자", "데이터 엔지니어", "DevOps 엔지니어", "안드로이드 개발자", "iOS 개발자"};
+
+    private final RowHash hash;
+
+    public MemberRowGenerator(long seed) {
+        this.hash = new RowHash(seed, EntityType.MEMBER);
+    }
+
+    @Override
+    public MemberRow process(Long index) {
+        String role = ROLES[hash.nextInt(index, ROLE, ROLES.length)];
+
+        return new MemberRow(
+                "user" + index + "@test.com",
+                "개발자" + index,
+                "https://example.com/profile/" + index + ".jpg",
+                role + "입니다. 기술 서적을 통해 성장하고 있습니다!");
+    }
+}
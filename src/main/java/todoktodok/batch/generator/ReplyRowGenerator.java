@@ -0,0 +1,61 @@
+package todoktodok.batch.generator;
+
+import org.springframework.batch.item.ItemProcessor;
+import todoktodok.batch.row.ReplyRow;
+
+public class ReplyRowGenerator implements ItemProcessor<Long, ReplyRow> {
+
+    private static final int MEMBER = 0;
+    private static final int COMMENT = 1;
+    private static final int REACTION = 2;
+    private static final int CONTENT = 3;
+
+    private static final String[] REACTIONS = {
+            "맞아요!",
+            "저도 그렇게 생각해요.",
+            "좋은 지적입니다.",
+            "감사합니다!",
+            "동의합니다.",
+            "새로운 시각이네요."
+    };
+
+    private final IdPool memberIds;
+    private final IndexSampler memberSampler;
+    private final IdPool commentIds;
+    private final IndexSampler commentSampler;
+    private final TextGenerator contentText;
+    private final RowHash hash;
+
+    // 부모 ID를 호출하는 쪽에서 넘기는 경우 (계층 생성), generate만 사용한다
+    public ReplyRowGenerator(long seed, IdPool memberIds, IndexSampler memberSampler, TextGenerator contentText) {
+        this(seed, memberIds, memberSampler, null, null, contentText);
+    }
+
+    public ReplyRowGenerator(long seed, IdPool memberIds, IndexSampler memberSampler,
+                             IdPool commentIds, IndexSampler commentSampler, TextGenerator contentText) {
+        if (memberIds.isEmpty() || (commentIds != null && commentIds.isEmpty())) {
+            throw new IllegalStateException("회원 또는 댓글 데이터가 없습니다.");
+        }
+        this.memberIds = memberIds;
+        this.memberSampler = memberSampler;
+        this.commentIds = commentIds;
+        this.commentSampler = commentSampler;
+        this.contentText = contentText;
+        this.hash = new RowHash(seed, EntityType.REPLY);
+    }
+
+    @Override
+    public ReplyRow process(Long index) {
+        return generate(index, commentIds.idAt(commentSampler.sample(hash.next(index, COMMENT))));
+    }
+
+    public ReplyRow generate(long index, long commentId) {
+        long memberId = memberIds.idAt(memberSampler.sample(hash.next(index, MEMBER)));
+        String reaction = REACTIONS[hash.nextInt(index, REACTION, REACTIONS.length)];
+
+        return new ReplyRow(
+                contentText.generate(hash.next(index, CONTENT), reaction + " ", "답글 " + index),
+                memberId,
+                commentId);
+    }
+}
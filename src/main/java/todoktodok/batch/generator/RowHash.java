@@ -0,0 +1,30 @@
+package todoktodok.batch.generator;
+
+// (seed, entityType, rowIndex, field)만으로 값이 정해지는 SplitMix64 기반 카운터 난수
+// 이전 호출 상태가 없으므로 어떤 스레드나 노드에서 어떤 행을 만들어도 같은 값이 나온다
+public final class RowHash {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long FIELD_GAMMA = 0xD1B54A32D192ED03L;
+
+    private final long base;
+
+    public RowHash(long seed, EntityType entityType) {
+        this.base = mix(seed ^ mix(entityType.name().hashCode()));
+    }
+
+    public long next(long index, int field) {
+        return mix(base + index * GOLDEN_GAMMA + field * FIELD_GAMMA);
+    }
+
+    // [0, bound) 범위의 값 (상위 32비트 곱셈 축소)
+    public int nextInt(long index, int field, int bound) {
+        return (int) (((next(index, field) >>> 32) * bound) >>> 32);
+    }
+
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,102 @@
+package todoktodok.batch.generator;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+// 부모 단계가 진행되는 동안 커밋된 부모 PK를 주기적으로 읽어 덧붙이는 ID 풀 (크기는 늘어나기만 한다)
+// 부모 단계가 끝나면 전체를 한 번 더 읽어 늦게 커밋된 작은 ID까지 포함한 최종 풀로 바꾸고 조회를 멈춘다
+@Slf4j
+public class StreamingIdPool implements IdPool {
+
+    private static final long POLL_MILLIS = 200;
+    private static final int INITIAL_CAPACITY = 10_000;
+
+    private final IdPoolLoader loader;
+    private final String table;
+    private final BooleanSupplier parentFinished;
+    private final ScheduledExecutorService poller;
+
+    // 쓰는 쪽은 배열을 먼저, 크기를 나중에 갱신하므로 읽는 쪽이 본 크기만큼은 항상 배열에 값이 있다
+    private volatile long[] ids = new long[INITIAL_CAPACITY];
+    private volatile int size;
+    private volatile boolean complete;
+    private long lastSeenId;
+
+    public StreamingIdPool(IdPoolLoader loader, String table, BooleanSupplier parentFinished) {
+        this.loader = loader;
+        this.table = table;
+        this.parentFinished = parentFinished;
+        this.poller = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("stream-" + table).daemon().factory());
+        poller.scheduleWithFixedDelay(this::poll, 0, POLL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long idAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return ids[index];
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    // 부모 행이 하나라도 커밋되거나 부모 단계가 끝날 때까지 기다린다
+    public void awaitNonEmpty() throws InterruptedException {
+        while (size == 0 && !complete) {
+            Thread.sleep(POLL_MILLIS);
+        }
+    }
+
+    private void poll() {
+        try {
+            // 완료 여부를 먼저 확인해야 마지막 조회가 부모 단계의 모든 커밋 이후에 실행된다
+            boolean finished = parentFinished.getAsBoolean();
+            if (finished) {
+                replaceWith(loader.load(table));
+                complete = true;
+                poller.shutdown();
+                log.info("{} ID 스트리밍 완료 ({}개)", table, size);
+                return;
+            }
+            loader.loadAfter(table, lastSeenId, this::append);
+        } catch (RuntimeException e) {
+            log.warn("{} ID 조회 실패, 다음 주기에 다시 시도합니다: {}", table, e.getMessage());
+        }
+    }
+
+    private void append(long id) {
+        long[] current = ids;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+            ids = current;
+        }
+        current[size] = id;
+        size = size + 1;
+        lastSeenId = id;
+    }
+
+    // 생성 중에는 행이 지워지지 않으므로 전체 풀이 지금까지 덧붙인 풀보다 작지 않다
+    private void replaceWith(IdPool pool) {
+        if (pool.size() < size) {
+            return;
+        }
+        long[] all = new long[pool.size()];
+        for (int i = 0; i < pool.size(); i++) {
+            all[i] = pool.idAt(i);
+        }
+        ids = all;
+        size = pool.size();
+    }
+}
@@ -0,0 +1,67 @@
+package todoktodok.batch.generator;
+
+import java.util.Arrays;
+
+// 본문 길이 범위 안에서 TextModel이 고른 조각을 이어 붙인다. 같은 난수 비트면 같은 본문이 나온다
+public class TextGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // 남은 길이에 맞지 않는 조각이 이만큼 연달아 나오면 멈춘다
+    private static final int MAX_MISSES = 8;
+
+    private final Vocabulary vocabulary;
+    private final TextModel model;
+    private final int minLength;
+    private final int maxLength;
+
+    // 조각 번호를 모으는 작업 버퍼, 행마다 필요한 크기만큼만 복사한다
+    private final ThreadLocal<int[]> scratch;
+
+    public TextGenerator(Vocabulary vocabulary, TextModel model, int minLength, int maxLength) {
+        if (minLength < 0 || minLength > maxLength) {
+            throw new IllegalArgumentException("본문 길이 범위가 올바르지 않습니다: " + minLength + ".." + maxLength);
+        }
+        this.vocabulary = vocabulary;
+        this.model = model;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        int capacity = maxLength / vocabulary.minLength() + 1;
+        this.scratch = ThreadLocal.withInitial(() -> new int[capacity]);
+    }
+
+    // lead + 조각들 + tail의 길이가 [minLength, maxLength]에서 고른 목표 길이를 넘지 않는 동안 조각을 붙인다
+    // 목표 길이가 lead + tail보다 짧으면 조각 없이 lead + tail만 남는다
+    public GeneratedText generate(long bits, String lead, String tail) {
+        long state = bits;
+        int target = minLength + (int) (((bits >>> 32) * (maxLength - minLength + 1L)) >>> 32);
+
+        int[] buffer = scratch.get();
+        int count = 0;
+        int length = lead.length() + tail.length();
+        int previous = -1;
+        int misses = 0;
+        while (count < buffer.length && misses < MAX_MISSES) {
+            state += GOLDEN_GAMMA;
+            int fragment = model.next(previous, RowHash.mix(state));
+            if (length + vocabulary.length(fragment) > target) {
+                misses++;
+                continue;
+            }
+            misses = 0;
+            buffer[count++] = fragment;
+            length += vocabulary.length(fragment);
+            previous = fragment;
+        }
+
+        // 연결어로 끝나지 않게 한다
+        while (count > 0 && vocabulary.type(buffer[count - 1]) == FragmentType.CONNECTOR) {
+            length -= vocabulary.length(buffer[--count]);
+        }
+        return new GeneratedText(vocabulary, lead, Arrays.copyOf(buffer, count), tail, length);
+    }
+
+    public int maxLength() {
+        return maxLength;
+    }
+}
@@ -0,0 +1,54 @@
+package todoktodok.batch.generator;
+
+import java.nio.file.Path;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import todoktodok.batch.config.GenerationProperties;
+import todoktodok.batch.config.GenerationProperties.ContentProperties;
+import todoktodok.batch.config.GenerationProperties.LengthProperties;
+
+// 엔티티별 본문 생성기. 어휘와 모델은 하나를 공유하고, 길이 범위는 컬럼 길이를 넘지 않게 자른다
+@Slf4j
+@Getter
+@Component
+public class TextGenerators {
+
+    // 엔티티의 @Column(length) 값 (Book.summary는 기본 길이 255)
+    public static final int SUMMARY_LIMIT = 255;
+    public static final int DISCUSSION_CONTENT_LIMIT = 2550;
+    public static final int COMMENT_CONTENT_LIMIT = 2048;
+    public static final int REPLY_CONTENT_LIMIT = 2048;
+
+    private final TextGenerator summary;
+    private final TextGenerator discussion;
+    private final TextGenerator comment;
+    private final TextGenerator reply;
+
+    public TextGenerators(GenerationProperties properties) {
+        ContentProperties content = properties.getContent();
+        Vocabulary vocabulary = content.getVocabulary() != null
+                ? Vocabulary.load(Path.of(content.getVocabulary()))
+                : Vocabulary.defaults();
+        TextModel model = switch (content.getModel()) {
+            case MARKOV -> new MarkovTextModel(vocabulary);
+            case UNIFORM -> TextModel.uniform(vocabulary);
+        };
+
+        this.summary = generator(vocabulary, model, "summary", content.getSummary(), SUMMARY_LIMIT);
+        this.discussion = generator(vocabulary, model, "discussion", content.getDiscussion(),
+                DISCUSSION_CONTENT_LIMIT);
+        this.comment = generator(vocabulary, model, "comment", content.getComment(), COMMENT_CONTENT_LIMIT);
+        this.reply = generator(vocabulary, model, "reply", content.getReply(), REPLY_CONTENT_LIMIT);
+    }
+
+    private static TextGenerator generator(Vocabulary vocabulary, TextModel model, String name,
+                                           LengthProperties length, int limit) {
+        int max = length.getMax();
+        if (max > limit) {
+            log.warn("{} 본문 최대 길이 {}가 컬럼 길이 {}를 넘어 {}로 줄입니다.", name, max, limit, limit);
+            max = limit;
+        }
+        return new TextGenerator(vocabulary, model, Math.min(length.getMin(), max), max);
+    }
+}
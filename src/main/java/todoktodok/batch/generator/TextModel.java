@@ -0,0 +1,14 @@
+package todoktodok.batch.generator;
+
+// 직전 조각(처음이면 -1)과 난수 비트로 다음 조각을 고른다. 상태가 없으므로 여러 스레드가 공유한다
+@FunctionalInterface
+public interface TextModel {
+
+    int next(int previous, long bits);
+
+    // 직전 조각과 관계없이 연결어를 제외한 조각을 균등하게 고른다
+    static TextModel uniform(Vocabulary vocabulary) {
+        int[] candidates = MarkovTextModel.indicesOf(vocabulary, FragmentType.OPENING, FragmentType.BODY);
+        return (previous, bits) -> candidates[(int) (((bits >>> 32) * candidates.length) >>> 32)];
+    }
+}
@@ -0,0 +1,60 @@
+package todoktodok.batch.generator;
+
+// 계층 생성에서 토론당 댓글 수, 댓글당 답글 수와 자식 행 번호를 정한다
+// 개수는 부모 행 번호만으로 정해지므로 같은 seed면 같은 트리가 만들어지고, 전체 건수도 DB 없이 계산할 수 있다
+public class TreeFanOut {
+
+    // 각 행 생성기가 쓰는 필드 번호와 겹치지 않는 번호
+    private static final int FAN_OUT = 16;
+
+    private final int commentMin;
+    private final int commentMax;
+    private final int replyMin;
+    private final int replyMax;
+    private final RowHash discussionHash;
+    private final RowHash commentHash;
+
+    public TreeFanOut(long seed, int commentMin, int commentMax, int replyMin, int replyMax) {
+        if (commentMin < 0 || commentMax < commentMin || replyMin < 0 || replyMax < replyMin) {
+            throw new IllegalArgumentException("자식 수 범위가 올바르지 않습니다: 댓글 " + commentMin + ".." + commentMax
+                    + ", 답글 " + replyMin + ".." + replyMax);
+        }
+        this.commentMin = commentMin;
+        this.commentMax = commentMax;
+        this.replyMin = replyMin;
+        this.replyMax = replyMax;
+        this.discussionHash = new RowHash(seed, EntityType.DISCUSSION);
+        this.commentHash = new RowHash(seed, EntityType.COMMENT);
+    }
+
+    public int comments(long discussionIndex) {
+        return commentMin + discussionHash.nextInt(discussionIndex, FAN_OUT, commentMax - commentMin + 1);
+    }
+
+    public int replies(long commentIndex) {
+        return replyMin + commentHash.nextInt(commentIndex, FAN_OUT, replyMax - replyMin + 1);
+    }
+
+    // 토론마다 댓글 번호를 commentMax개씩 예약하므로 자식 수가 달라도 번호가 겹치지 않는다 (k는 1부터)
+    public long commentIndex(long discussionIndex, int k) {
+        return (discussionIndex - 1) * commentMax + k;
+    }
+
+    public long replyIndex(long commentIndex, int k) {
+        return (commentIndex - 1) * replyMax + k;
+    }
+
+    // 토론 1..discussionCount가 만드는 {댓글 수, 답글 수}
+    public long[] totals(long discussionCount) {
+        long comments = 0;
+        long replies = 0;
+        for (long discussionIndex = 1; discussionIndex <= discussionCount; discussionIndex++) {
+            int commentCount = comments(discussionIndex);
+            comments += commentCount;
+            for (int k = 1; k <= commentCount; k++) {
+                replies += replies(commentIndex(discussionIndex, k));
+            }
+        }
+        return new long[]{comments, replies};
+    }
+}
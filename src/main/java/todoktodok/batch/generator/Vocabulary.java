@@ -0,0 +1,143 @@
+package todoktodok.batch.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 본문을 이루는 조각 목록. 조각마다 UTF-8 바이트와 글자 수를 한 번만 계산해 두고 모든 행이 공유한다
+public final class Vocabulary {
+
+    private static final List<String> OPENINGS = List.of(
+            "이 부분을 읽으면서 여러 가지 생각이 들었습니다. ",
+            "처음 읽었을 때는 잘 이해가 되지 않았는데요. ",
+            "실무에서 비슷한 문제를 겪은 적이 있어서 공유해봅니다. ",
+            "개인적으로 이 책에서 가장 인상 깊었던 내용입니다. ",
+            "스터디에서 이 주제로 이야기를 나눠봤습니다. ",
+            "두 번째로 읽으면서 새롭게 보인 내용이 있어요. ",
+            "팀에서 도입을 검토하면서 정리한 내용입니다. ",
+            "예제를 직접 따라 해보면서 느낀 점을 적어봅니다. ");
+
+    private static final List<String> BODIES = List.of(
+            "실무에 적용하면서 느낀 점이나 더 좋은 방법이 있다면 공유 부탁드립니다. ",
+            "저는 이 부분이 특히 유용했는데요, 다른 분들은 어떻게 활용하고 계신지 궁금합니다. ",
+            "책에서 제시한 방식은 규모가 작을 때는 잘 맞지만 트래픽이 늘어나면 다시 생각해봐야 할 것 같습니다. ",
+            "테스트 코드를 먼저 작성하니 구조를 바꿀 때 훨씬 마음이 편했습니다. ",
+            "처음에는 추상화가 과하다고 느꼈는데 요구사항이 바뀌면서 그 이유를 알게 되었습니다. ",
+            "성능 측정 없이 최적화부터 하는 것은 위험하다는 말에 공감합니다. ",
+            "의존성 방향을 정리하고 나니 모듈을 나누는 기준이 명확해졌습니다. ",
+            "예제 코드가 최신 버전과 조금 달라서 공식 문서를 함께 참고했습니다. ",
+            "트랜잭션 경계를 어디에 둘지가 생각보다 중요한 문제였습니다. ",
+            "같은 문제를 다른 언어로 풀어보니 설계의 차이가 더 잘 보였습니다. ",
+            "로그와 지표를 먼저 쌓아두지 않았다면 원인을 찾기 어려웠을 것 같습니다. ",
+            "이름을 잘 짓는 것만으로도 코드 리뷰 시간이 많이 줄었습니다. ",
+            "캐시를 도입할 때는 무효화 전략을 먼저 정해야 한다는 점이 와닿았습니다. ",
+            "작은 단위로 자주 배포하니 장애가 나도 원인을 빠르게 좁힐 수 있었습니다. ",
+            "인덱스를 추가하기 전에 실행 계획부터 확인하는 습관이 생겼습니다. ",
+            "팀원들과 용어를 맞추는 데 생각보다 많은 시간이 들었습니다. ",
+            "레거시 코드에 바로 적용하기는 어렵지만 새 기능부터 조금씩 시도해보고 있습니다. ",
+            "책의 설명대로 경계를 나누니 변경이 한곳에 모였습니다. ",
+            "동시성 문제는 재현이 어려워서 처음부터 설계에 반영하는 것이 좋다고 느꼈습니다. ",
+            "저자가 강조한 원칙을 체크리스트로 만들어 리뷰 때 활용하고 있습니다. ",
+            "비슷한 개념을 다룬 다른 책과 비교해보니 이 책의 설명이 더 실용적이었습니다. ",
+            "장애 회고를 하면서 이 장의 내용을 다시 읽어보게 되었습니다. ",
+            "처음부터 완벽하게 만들기보다 측정하고 개선하는 흐름이 중요하다고 생각합니다. ",
+            "API를 설계할 때 사용하는 쪽의 입장을 먼저 생각하게 되었습니다. ");
+
+    private static final List<String> CONNECTORS = List.of(
+            "그런데 ",
+            "특히 ",
+            "덧붙이자면 ",
+            "반대로 ",
+            "예를 들어 ",
+            "그래서 ");
+
+    private final String[] fragments;
+    private final byte[][] encoded;
+    private final FragmentType[] types;
+
+    private Vocabulary(List<String> fragments, List<FragmentType> types) {
+        if (!types.contains(FragmentType.OPENING) || !types.contains(FragmentType.BODY)) {
+            throw new IllegalArgumentException("어휘에는 opening과 body 조각이 하나 이상 있어야 합니다.");
+        }
+        this.fragments = fragments.toArray(String[]::new);
+        this.types = types.toArray(FragmentType[]::new);
+        this.encoded = new byte[this.fragments.length][];
+        for (int i = 0; i < this.fragments.length; i++) {
+            // CSV 경로는 인코딩된 바이트를 이스케이프 없이 복사하므로 큰따옴표를 허용하지 않는다
+            if (this.fragments[i].isEmpty() || this.fragments[i].indexOf('"') >= 0) {
+                throw new IllegalArgumentException("비어 있거나 큰따옴표가 포함된 조각입니다: " + this.fragments[i]);
+            }
+            this.encoded[i] = this.fragments[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    public static Vocabulary defaults() {
+        List<String> fragments = new ArrayList<>();
+        List<FragmentType> types = new ArrayList<>();
+        add(fragments, types, OPENINGS, FragmentType.OPENING);
+        add(fragments, types, BODIES, FragmentType.BODY);
+        add(fragments, types, CONNECTORS, FragmentType.CONNECTOR);
+        return new Vocabulary(fragments, types);
+    }
+
+    // 한 줄에 "종류<TAB>조각" (종류: opening | body | connector), 빈 줄과 #으로 시작하는 줄은 건너뛴다
+    public static Vocabulary load(Path file) {
+        List<String> fragments = new ArrayList<>();
+        List<FragmentType> types = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                int tab = line.indexOf('\t');
+                if (tab < 0) {
+                    throw new IllegalArgumentException("어휘 파일 형식이 올바르지 않습니다: " + line);
+                }
+                types.add(FragmentType.valueOf(line.substring(0, tab).trim().toUpperCase(Locale.ROOT)));
+                fragments.add(line.substring(tab + 1));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Vocabulary(fragments, types);
+    }
+
+    private static void add(List<String> fragments, List<FragmentType> types, List<String> values,
+                            FragmentType type) {
+        fragments.addAll(values);
+        values.forEach(value -> types.add(type));
+    }
+
+    public int size() {
+        return fragments.length;
+    }
+
+    public String fragment(int index) {
+        return fragments[index];
+    }
+
+    public byte[] encoded(int index) {
+        return encoded[index];
+    }
+
+    public int length(int index) {
+        return fragments[index].length();
+    }
+
+    public FragmentType type(int index) {
+        return types[index];
+    }
+
+    public int minLength() {
+        int min = Integer.MAX_VALUE;
+        for (String fragment : fragments) {
+            min = Math.min(min, fragment.length());
+        }
+        return min;
+    }
+}
@@ -0,0 +1,117 @@
+package todoktodok.batch.job;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.batch.repeat.policy.CompletionPolicySupport;
+import todoktodok.batch.config.GenerationProperties.AdaptiveBatchProperties;
+import todoktodok.batch.support.AdaptiveBatchSizer;
+
+// 청크 크기를 쓰기 + 커밋 시간에 따라 바꾸는 CompletionPolicy. 워커 스텝 하나를 파티션 스레드들이 함께 쓰므로
+// 크기는 파티션(StepExecution)마다 따로 조절하고, 커밋마다 ExecutionContext에 저장해 재시작하면 배운 크기부터 이어간다
+public class AdaptiveChunkSizePolicy<T> extends CompletionPolicySupport
+        implements StepExecutionListener, ChunkListener, ItemWriteListener<T> {
+
+    public static final String BATCH_SIZE_KEY = "adaptive.batchSize";
+    public static final String CEILING_BREACHES_KEY = "adaptive.ceilingBreaches";
+
+    private static final int WRITE_STARTED = 0;
+    private static final int WRITTEN_ROWS = 1;
+
+    private final AdaptiveBatchProperties adaptive;
+    private final int initialSize;
+    private final Map<Long, AdaptiveBatchSizer> sizers = new ConcurrentHashMap<>();
+    private final ThreadLocal<long[]> marks = ThreadLocal.withInitial(() -> new long[2]);
+
+    public AdaptiveChunkSizePolicy(AdaptiveBatchProperties adaptive, int initialSize) {
+        this.adaptive = adaptive;
+        this.initialSize = initialSize;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        int size = (int) stepExecution.getExecutionContext().getLong(BATCH_SIZE_KEY, initialSize);
+        sizers.put(stepExecution.getId(), adaptive.sizer(size));
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        AdaptiveBatchSizer sizer = sizers.remove(stepExecution.getId());
+        if (sizer != null) {
+            save(stepExecution, sizer);
+        }
+        return null;
+    }
+
+    @Override
+    public RepeatContext start(RepeatContext parent) {
+        return new SizedContext(parent, sizer(StepSynchronizationManager.getContext().getStepExecution()).size());
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context) {
+        SizedContext sized = (SizedContext) context;
+        return sized.getStartedCount() >= sized.size;
+    }
+
+    @Override
+    public void update(RepeatContext context) {
+        ((SizedContext) context).increment();
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        marks.get()[WRITE_STARTED] = 0;
+    }
+
+    @Override
+    public void beforeWrite(Chunk<? extends T> items) {
+        marks.get()[WRITE_STARTED] = System.nanoTime();
+    }
+
+    @Override
+    public void afterWrite(Chunk<? extends T> items) {
+        marks.get()[WRITTEN_ROWS] = items.size();
+    }
+
+    // 커밋까지 끝난 뒤 호출되므로 쓰기 시작부터 커밋까지를 배치 하나의 지연으로 본다
+    @Override
+    public void afterChunk(ChunkContext context) {
+        long[] mark = marks.get();
+        if (mark[WRITE_STARTED] == 0) {
+            return;
+        }
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        AdaptiveBatchSizer sizer = sizer(stepExecution);
+        sizer.record((int) mark[WRITTEN_ROWS], System.nanoTime() - mark[WRITE_STARTED]);
+        save(stepExecution, sizer);
+    }
+
+    private AdaptiveBatchSizer sizer(StepExecution stepExecution) {
+        return sizers.computeIfAbsent(stepExecution.getId(), id -> adaptive.sizer(initialSize));
+    }
+
+    private void save(StepExecution stepExecution, AdaptiveBatchSizer sizer) {
+        stepExecution.getExecutionContext().putLong(BATCH_SIZE_KEY, sizer.size());
+        stepExecution.getExecutionContext().putLong(CEILING_BREACHES_KEY, sizer.ceilingBreaches());
+    }
+
+    private static class SizedContext extends RepeatContextSupport {
+
+        private final int size;
+
+        private SizedContext(RepeatContext parent, int size) {
+            super(parent);
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package todoktodok.batch.job;
+
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import todoktodok.batch.config.GenerationProperties.BulkSessionProperties;
+import todoktodok.batch.support.BulkLoadSession;
+import todoktodok.batch.support.DatabaseType;
+import todoktodok.batch.support.TableConstraints;
+
+// 생성 단계가 끝나면 검사를 다시 켜고, 부모 없는 행을 집합 쿼리 한 번으로 확인한 뒤 삭제했던 인덱스와 외래 키를 다시 만든다
+@Slf4j
+public class BulkSessionFinishTasklet implements Tasklet {
+
+    private final BulkSessionProperties properties;
+    private final DataSource dataSource;
+    private final BulkLoadSession session;
+    private final JdbcTemplate jdbcTemplate;
+
+    public BulkSessionFinishTasklet(BulkSessionProperties properties, DataSource dataSource, BulkLoadSession session) {
+        this.properties = properties;
+        this.dataSource = dataSource;
+        this.session = session;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        if (!properties.isEnabled()) {
+            return RepeatStatus.FINISHED;
+        }
+        ExecutionContext jobContext = chunkContext.getStepContext().getStepExecution().getJobExecution()
+                .getExecutionContext();
+
+        session.end(dataSource);
+        if (DatabaseType.of(dataSource) == DatabaseType.H2) {
+            jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        }
+
+        long startedAt = System.currentTimeMillis();
+        List<String> violations = TableConstraints.orphanViolations(dataSource,
+                jobContext.getString(BulkSessionPrepareTasklet.VALIDATION_SQL_KEY, ""));
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("부모 행이 없는 데이터가 있습니다: " + violations);
+        }
+        long validatedAt = System.currentTimeMillis();
+        rebuild(jobContext);
+        log.info("대량 적재 구간 종료: 외래 키 검증 {}ms, 인덱스/외래 키 재생성 {}ms", validatedAt - startedAt,
+                System.currentTimeMillis() - validatedAt);
+        return RepeatStatus.FINISHED;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuild(ExecutionContext jobContext) {
+        List<String> rebuildSql = (List<String>) jobContext.get(BulkSessionPrepareTasklet.REBUILD_SQL_KEY, List.class,
+                List.of());
+        TableConstraints.executeRemaining(dataSource, rebuildSql,
+                remaining -> jobContext.put(BulkSessionPrepareTasklet.REBUILD_SQL_KEY, remaining));
+    }
+}
@@ -0,0 +1,96 @@
+package todoktodok.batch.job;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import todoktodok.batch.config.GenerationProperties.BulkSessionProperties;
+import todoktodok.batch.support.BulkLoadSession;
+import todoktodok.batch.support.DatabaseType;
+import todoktodok.batch.support.TableConstraints;
+import todoktodok.batch.support.TableConstraints.ForeignKey;
+import todoktodok.batch.support.TableConstraints.Index;
+
+// 생성 단계 전에 외래 키/유니크 검사를 끄고, 설정하면 외래 키와 보조 인덱스를 삭제한다
+// 검증 쿼리와 재생성 DDL은 Job ExecutionContext에 남겨 재시작해도 마무리 단계에서 쓸 수 있게 한다
+// DDL은 트랜잭션으로 되돌릴 수 없으므로, 삭제하기 전에 재생성 DDL을 먼저 저장해 중간에 실패해도 지운 제약 조건을 잃지 않는다
+@Slf4j
+public class BulkSessionPrepareTasklet implements Tasklet {
+
+    public static final String VALIDATION_SQL_KEY = "bulkSession.validationSql";
+    public static final String REBUILD_SQL_KEY = "bulkSession.rebuildSql";
+
+    private final BulkSessionProperties properties;
+    private final DataSource dataSource;
+    private final BulkLoadSession session;
+    private final JobRepository jobRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public BulkSessionPrepareTasklet(BulkSessionProperties properties, DataSource dataSource, BulkLoadSession session,
+                                     JobRepository jobRepository) {
+        this.properties = properties;
+        this.dataSource = dataSource;
+        this.session = session;
+        this.jobRepository = jobRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        if (!properties.isEnabled()) {
+            return RepeatStatus.FINISHED;
+        }
+        DatabaseType databaseType = DatabaseType.of(dataSource);
+        JobExecution jobExecution = chunkContext.getStepContext().getStepExecution().getJobExecution();
+        ExecutionContext jobContext = jobExecution.getExecutionContext();
+
+        // 재시작이면 이미 삭제된 제약 조건은 메타데이터에 없으므로 처음 저장한 값을 그대로 쓴다
+        if (!jobContext.containsKey(VALIDATION_SQL_KEY)) {
+            List<ForeignKey> foreignKeys = properties.getTables().stream()
+                    .flatMap(table -> TableConstraints.foreignKeys(dataSource, table).stream())
+                    .toList();
+            jobContext.putString(VALIDATION_SQL_KEY, TableConstraints.orphanCountSql(foreignKeys));
+
+            ArrayList<String> rebuildSql = new ArrayList<>();
+            jobContext.put(REBUILD_SQL_KEY, rebuildSql);
+            if (properties.isDropIndexes()) {
+                dropConstraints(databaseType, foreignKeys, rebuildSql, jobExecution);
+            }
+        }
+
+        if (databaseType == DatabaseType.H2) {
+            jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        }
+        session.begin();
+        log.info("대량 적재 구간 시작: 외래 키/유니크 검사 해제 (대상 {})", properties.getTables());
+        return RepeatStatus.FINISHED;
+    }
+
+    // MySQL은 외래 키가 쓰는 인덱스를 지울 수 없으므로 외래 키를 먼저 지우고 남은 보조 인덱스를 다시 읽는다
+    // 재생성은 인덱스 → 외래 키 순서여야 하므로 인덱스 DDL은 외래 키 DDL 앞에 끼워 넣는다
+    private void dropConstraints(DatabaseType databaseType, List<ForeignKey> foreignKeys, List<String> rebuildSql,
+                                 JobExecution jobExecution) {
+        for (ForeignKey foreignKey : foreignKeys) {
+            rebuildSql.add(foreignKey.createSql());
+            jobRepository.updateExecutionContext(jobExecution);
+            jdbcTemplate.execute(foreignKey.dropSql(databaseType));
+        }
+        int indexCount = 0;
+        for (String table : properties.getTables()) {
+            for (Index index : TableConstraints.secondaryIndexes(dataSource, table)) {
+                rebuildSql.add(indexCount++, index.createSql());
+                jobRepository.updateExecutionContext(jobExecution);
+                jdbcTemplate.execute(index.dropSql(databaseType));
+            }
+        }
+        log.info("외래 키 {}개, 보조 인덱스 {}개 삭제", foreignKeys.size(), indexCount);
+    }
+}
@@ -1,55 +1,195 @@
 package todoktodok.batch.job;
 
-import java.util.ArrayList;
+import com.zaxxer.hikari.HikariDataSource;
+import java.nio.file.Path;
+import java.sql.SQLException;
 import java.util.List;
-import java.util.Random;
+import java.util.function.Function;
+import javax.sql.DataSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.job.builder.FlowBuilder;
+import org.springframework.batch.core.job.builder.FlowJobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.job.flow.support.SimpleFlow;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.builder.SimpleJobBuilder;
+import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.PartitionStepBuilder;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.core.step.tasklet.Tasklet;
-import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
-import todoktodok.batch.entity.Book;
-import todoktodok.batch.entity.Comment;
-import todoktodok.batch.entity.Discussion;
-import todoktodok.batch.entity.Member;
-import todoktodok.batch.entity.Reply;
-import todoktodok.batch.repository.BookRepository;
-import todoktodok.batch.repository.CommentRepository;
-import todoktodok.batch.repository.DiscussionRepository;
-import todoktodok.batch.repository.MemberRepository;
-import todoktodok.batch.repository.ReplyRepository;
-
+import org.springframework.transaction.support.TransactionTemplate;
+import todoktodok.batch.config.GenerationProperties;
+import todoktodok.batch.config.GenerationProperties.ContentProperties;
+import todoktodok.batch.config.GenerationProperties.DistributedProperties;
+import todoktodok.batch.config.GenerationProperties.DistributionProperties;
+import todoktodok.batch.config.GenerationProperties.EntityProperties;
+import todoktodok.batch.config.GenerationProperties.TreeProperties;
+import todoktodok.batch.generator.BookRowGenerator;
+import todoktodok.batch.generator.CommentRowGenerator;
+import todoktodok.batch.generator.DiscussionRowGenerator;
+import todoktodok.batch.generator.DiscussionTreeGenerator;
+import todoktodok.batch.generator.Distribution;
+import todoktodok.batch.generator.IdPoolCache;
+import todoktodok.batch.generator.IndexItemReader;
+import todoktodok.batch.generator.IndexSampler;
+import todoktodok.batch.generator.MemberRowGenerator;
+import todoktodok.batch.generator.ReplyRowGenerator;
+import todoktodok.batch.generator.StreamingIdPool;
+import todoktodok.batch.generator.TextGenerators;
+import todoktodok.batch.generator.TreeFanOut;
+import todoktodok.batch.job.DataVerificationTasklet.Table;
+import todoktodok.batch.metrics.GenerationMetrics;
+import todoktodok.batch.metrics.GenerationMetricsListener;
+import todoktodok.batch.row.BookRow;
+import todoktodok.batch.row.CommentRow;
+import todoktodok.batch.row.DiscussionRow;
+import todoktodok.batch.row.MemberRow;
+import todoktodok.batch.row.ReplyRow;
+import todoktodok.batch.support.BulkLoadSession;
+import todoktodok.batch.writer.BulkLoader;
+import todoktodok.batch.writer.DiscussionTreeWriter;
+import todoktodok.batch.writer.RowTable;
+import todoktodok.batch.writer.RowTables;
+
+// Job과 Step 빈은 지연 생성한다. 실행기가 spring.batch.job.name의 Job만 꺼내므로 나머지 Job은 만들어지지 않는다
 @Slf4j
+@Lazy
 @Configuration
 @RequiredArgsConstructor
 public class DataGenerationJobConfig {
 
-    private final MemberRepository memberRepository;
-    private final BookRepository bookRepository;
-    private final DiscussionRepository discussionRepository;
-    private final CommentRepository commentRepository;
-    private final ReplyRepository replyRepository;
-
-    private final Random random = new Random();
+    private final ItemWriter<MemberRow> memberWriter;
+    private final ItemWriter<BookRow> bookWriter;
+    private final ItemWriter<DiscussionRow> discussionWriter;
+    private final ItemWriter<CommentRow> commentWriter;
+    private final ItemWriter<ReplyRow> replyWriter;
+    private final GenerationProperties properties;
+    private final IdPoolCache idPoolCache;
+    private final TextGenerators textGenerators;
+    private final TaskExecutor generationTaskExecutor;
+    private final TaskExecutor flowTaskExecutor;
+    private final DataSource dataSource;
+    private final BulkLoadSession bulkLoadSession;
+    private final JobExplorer jobExplorer;
+    private final BulkLoader bulkLoader;
+    private final DatasetSizePlanner datasetSizePlanner;
 
     // 전체 데이터 생성 Job (모든 Step 실행)
     @Bean
-    public Job allDataGenerationJob(JobRepository jobRepository, Step memberGenerationStep,
-                                     Step bookGenerationStep, Step discussionGenerationStep,
-                                     Step commentGenerationStep, Step replyGenerationStep) {
+    public Job allDataGenerationJob(JobRepository jobRepository, Step bulkSessionPrepareStep,
+                                     Step memberGenerationStep, Step bookGenerationStep,
+                                     Step discussionGenerationStep, Step commentGenerationStep,
+                                     Step replyGenerationStep, Step bulkSessionFinishStep,
+                                     Step dataVerificationStep) {
         return new JobBuilder("allDataGenerationJob", jobRepository)
-                .start(memberGenerationStep)
+                .start(bulkSessionPrepareStep)
+                .next(memberGenerationStep)
                 .next(bookGenerationStep)
                 .next(discussionGenerationStep)
                 .next(commentGenerationStep)
                 .next(replyGenerationStep)
+                .next(bulkSessionFinishStep)
+                .next(dataVerificationStep)
+                .build();
+    }
+
+    // 의존 관계가 없는 단계는 동시에 실행한다: (회원 ‖ 책) → 토론 → (댓글 ‖ 답글)
+    // 답글은 댓글이 끝나기를 기다리지 않고 커밋된 댓글 ID를 스트리밍으로 받아 생성한다
+    // 스트리밍 답글은 댓글 분포 설정을 따를 수 없으므로, reply.distributions.comment가 uniform이 아니면 댓글 → 답글을 차례로 실행한다
+    @Bean
+    public Job parallelDataGenerationJob(JobRepository jobRepository, Step bulkSessionPrepareStep,
+                                         Step memberGenerationStep, Step bookGenerationStep,
+                                         Step discussionGenerationStep, Step commentGenerationStep,
+                                         Step replyGenerationStep, Step replyStreamingGenerationStep,
+                                         Step bulkSessionFinishStep, Step dataVerificationStep) {
+        FlowBuilder<FlowJobBuilder> builder = new JobBuilder("parallelDataGenerationJob", jobRepository)
+                .flow(bulkSessionPrepareStep)
+                .next(split("memberAndBookFlow", memberGenerationStep, bookGenerationStep))
+                .next(discussionGenerationStep);
+        boolean streaming = properties.getReply().distribution("comment").getType() == Distribution.UNIFORM;
+        // 동시에 실행되는 단계의 커넥션을 합쳐 확인한다. 스트리밍 답글은 댓글 ID 조회에 하나를 더 쓴다
+        checkPoolSize("parallelDataGenerationJob", Math.max(
+                connections(properties.getMember()) + connections(properties.getBook()),
+                streaming ? connections(properties.getComment()) + connections(properties.getReply()) + 1 : 0));
+        if (streaming) {
+            builder.next(split("commentAndReplyFlow", commentGenerationStep, replyStreamingGenerationStep));
+        } else {
+            log.warn("reply.distributions.comment가 {}이므로 답글은 댓글 단계가 끝난 뒤 생성합니다.",
+                    properties.getReply().distribution("comment").getType());
+            builder.next(commentGenerationStep)
+                    .next(replyGenerationStep);
+        }
+        return builder
+                .next(bulkSessionFinishStep)
+                .next(dataVerificationStep)
+                .end()
+                .build();
+    }
+
+    // 토론마다 댓글과 답글 트리를 함께 만들어 한 번에 저장한다 (댓글, 답글 단계를 따로 실행하지 않는다)
+    // 자식의 외래 키는 방금 저장한 부모의 생성 키로 채우므로 토론과 댓글 테이블을 다시 읽지 않는다
+    @Bean
+    public Job treeDataGenerationJob(JobRepository jobRepository, Step bulkSessionPrepareStep,
+                                     Step memberGenerationStep, Step bookGenerationStep,
+                                     Step discussionTreeGenerationStep, Step bulkSessionFinishStep,
+                                     Step treeVerificationStep) {
+        return new JobBuilder("treeDataGenerationJob", jobRepository)
+                .start(bulkSessionPrepareStep)
+                .next(memberGenerationStep)
+                .next(bookGenerationStep)
+                .next(discussionTreeGenerationStep)
+                .next(bulkSessionFinishStep)
+                .next(treeVerificationStep)
+                .build();
+    }
+
+    // 데이터셋을 비운다. truncate 모드는 자식 테이블부터 TRUNCATE하고,
+    // shadow 모드는 새 테이블을 (설정하면 덤프로) 채워 둔 뒤 이름을 바꿔 한 번에 교체한다
+    @Bean
+    public Job resetDataJob(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+        List<String> tables = RowTables.ALL.stream().map(RowTable::name).toList();
+        if (properties.getReset().getMode() == ResetMode.TRUNCATE) {
+            return new JobBuilder("resetDataJob", jobRepository)
+                    .start(new StepBuilder("truncateTablesStep", jobRepository)
+                            .tasklet(new TruncateTablesTasklet(tables, dataSource), new ResourcelessTransactionManager())
+                            .build())
+                    .build();
+        }
+
+        SimpleJobBuilder builder = new JobBuilder("resetDataJob", jobRepository)
+                .start(new StepBuilder("shadowTablesPrepareStep", jobRepository)
+                        .tasklet(new ShadowTablesPrepareTasklet(tables, dataSource), new ResourcelessTransactionManager())
+                        .build());
+        if (properties.getReset().isLoadDump()) {
+            for (RowTable<?> table : RowTables.ALL) {
+                builder.next(shadowLoadStep(table, jobRepository, transactionManager));
+            }
+        }
+        return builder
+                .next(new StepBuilder("shadowTablesSwapStep", jobRepository)
+                        .tasklet(new ShadowTablesSwapTasklet(tables, dataSource, bulkLoader),
+                                new ResourcelessTransactionManager())
+                        .build())
                 .build();
     }
 
@@ -93,276 +233,386 @@ public class DataGenerationJobConfig {
                 .build();
     }
 
+    // bulk-session이 꺼져 있으면 아무것도 하지 않는다. 재시작하면 검사 해제를 다시 적용해야 하므로 매번 실행한다
+    // DDL마다 재생성 DDL을 먼저 저장해야 하므로 스텝 트랜잭션 없이 실행한다 (JobRepository가 저장할 때마다 커밋한다)
     @Bean
-    public Step memberGenerationStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
-        return new StepBuilder("memberGenerationStep", jobRepository)
-                .tasklet(memberGenerationTasklet(), transactionManager)
+    public Step bulkSessionPrepareStep(JobRepository jobRepository) {
+        return new StepBuilder("bulkSessionPrepareStep", jobRepository)
+                .tasklet(new BulkSessionPrepareTasklet(properties.getBulkSession(), dataSource, bulkLoadSession,
+                        jobRepository), new ResourcelessTransactionManager())
+                .allowStartIfComplete(true)
                 .build();
     }
 
     @Bean
-    public Step bookGenerationStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
-        return new StepBuilder("bookGenerationStep", jobRepository)
-                .tasklet(bookGenerationTasklet(), transactionManager)
+    public Step bulkSessionFinishStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+        return new StepBuilder("bulkSessionFinishStep", jobRepository)
+                .tasklet(new BulkSessionFinishTasklet(properties.getBulkSession(), dataSource, bulkLoadSession),
+                        transactionManager)
                 .build();
     }
 
+    // verification.enabled가 꺼져 있으면 아무것도 하지 않는다
     @Bean
-    public Step discussionGenerationStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
-        return new StepBuilder("discussionGenerationStep", jobRepository)
-                .tasklet(discussionGenerationTasklet(), transactionManager)
-                .build();
+    public Step dataVerificationStep(JobRepository jobRepository) {
+        return verificationStep("dataVerificationStep", jobRepository, properties.getComment().getCount(),
+                properties.getReply().getCount());
     }
 
+    // 트리 생성의 댓글, 답글 수는 설정된 count가 아니라 자식 수 범위로 정해지므로 같은 규칙으로 계산한 값과 비교한다
     @Bean
-    public Step commentGenerationStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
-        return new StepBuilder("commentGenerationStep", jobRepository)
-                .tasklet(commentGenerationTasklet(), transactionManager)
-                .build();
+    public Step treeVerificationStep(JobRepository jobRepository) {
+        long[] totals = treeFanOut().totals(properties.getDiscussion().getCount());
+        return verificationStep("treeVerificationStep", jobRepository, totals[0], totals[1]);
     }
 
-    @Bean
-    public Step replyGenerationStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
-        return new StepBuilder("replyGenerationStep", jobRepository)
-                .tasklet(replyGenerationTasklet(), transactionManager)
+    private Step verificationStep(String name, JobRepository jobRepository, long commentCount, long replyCount) {
+        ContentProperties content = properties.getContent();
+        List<Table> tables = List.of(
+                new Table("member", properties.getMember().getCount(), List.of(), null, 0, 0),
+                new Table("book", properties.getBook().getCount(), List.of(), "summary",
+                        content.getSummary().getMin(), content.getSummary().getMax()),
+                new Table("discussion", properties.getDiscussion().getCount(), List.of("member", "book"), "content",
+                        content.getDiscussion().getMin(), content.getDiscussion().getMax()),
+                new Table("comment", commentCount, List.of("member", "discussion"), "content",
+                        content.getComment().getMin(), content.getComment().getMax()),
+                new Table("reply", replyCount, List.of("member", "comment"), "content",
+                        content.getReply().getMin(), content.getReply().getMax()));
+        return new StepBuilder(name, jobRepository)
+                .tasklet(new DataVerificationTasklet(tables, properties.getVerification(), new JdbcTemplate(dataSource),
+                        properties.getGridSize()), new ResourcelessTransactionManager())
                 .build();
     }
 
     @Bean
-    public Tasklet memberGenerationTasklet() {
-        return (contribution, chunkContext) -> {
-            int count = 10000; // 생성할 회원 수
-            List<Member> members = new ArrayList<>();
+    public Step memberGenerationStep(JobRepository jobRepository, Step memberGenerationWorkerStep) {
+        return partitionedStep("memberGenerationStep", jobRepository, memberGenerationWorkerStep, "member",
+                properties.getMember());
+    }
 
-            log.info("회원 데이터 생성 시작: {}명", count);
+    @Bean
+    public Step bookGenerationStep(JobRepository jobRepository, Step bookGenerationWorkerStep) {
+        return partitionedStep("bookGenerationStep", jobRepository, bookGenerationWorkerStep, "book",
+                properties.getBook());
+    }
 
-            String[] roles = {"백엔드 개발자", "프론트엔드 개발자", "풀스택 개발자", "데이터 엔지니어", "DevOps 엔지니어", "안드로이드 개발자", "iOS 개발자"};
+    @Bean
+    public Step discussionGenerationStep(JobRepository jobRepository, Step discussionGenerationWorkerStep) {
+        return partitionedStep("discussionGenerationStep", jobRepository, discussionGenerationWorkerStep, "discussion",
+                properties.getDiscussion());
+    }
 
-            for (int i = 1; i <= count; i++) {
-                String role = roles[random.nextInt(roles.length)];
+    @Bean
+    public Step commentGenerationStep(JobRepository jobRepository, Step commentGenerationWorkerStep) {
+        return partitionedStep("commentGenerationStep", jobRepository, commentGenerationWorkerStep, "comment",
+                properties.getComment());
+    }
 
-                Member member = Member.builder()
-                        .email("user" + i + "@test.com")
-                        .nickname("개발자" + i)
-                        .profileImage("https://example.com/profile/" + i + ".jpg")
-                        .profileMessage(role + "입니다. 기술 서적을 통해 성장하고 있습니다!")
-                        .build();
-                members.add(member);
+    @Bean
+    public Step replyGenerationStep(JobRepository jobRepository, Step replyGenerationWorkerStep) {
+        return partitionedStep("replyGenerationStep", jobRepository, replyGenerationWorkerStep, "reply",
+                properties.getReply());
+    }
 
-                if (i % 100 == 0) {
-                    memberRepository.saveAll(members);
-                    members.clear();
-                    log.info("회원 {}명 저장 완료", i);
-                }
-            }
+    @Bean
+    public Step replyStreamingGenerationStep(JobRepository jobRepository, Step replyStreamingGenerationWorkerStep) {
+        return partitionedStep("replyStreamingGenerationStep", jobRepository, replyStreamingGenerationWorkerStep,
+                "reply", properties.getReply());
+    }
 
-            if (!members.isEmpty()) {
-                memberRepository.saveAll(members);
-            }
+    @Bean
+    public Step discussionTreeGenerationStep(JobRepository jobRepository, Step discussionTreeGenerationWorkerStep) {
+        return partitionedStep("discussionTreeGenerationStep", jobRepository, discussionTreeGenerationWorkerStep,
+                "discussion", properties.getDiscussion());
+    }
 
-            log.info("회원 데이터 생성 완료: 총 {}명", count);
-            return RepeatStatus.FINISHED;
-        };
+    @Bean
+    public Step memberGenerationWorkerStep(JobRepository jobRepository,
+                                           PlatformTransactionManager transactionManager) {
+        MemberRowGenerator generator = new MemberRowGenerator(properties.getSeed());
+        return workerStep("memberGenerationWorkerStep", jobRepository, transactionManager, properties.getMember(),
+                generator, stepExecution -> generator, memberWriter);
     }
 
     @Bean
-    public Tasklet bookGenerationTasklet() {
-        return (contribution, chunkContext) -> {
-            int count = 20000; // 생성할 책 수
-            List<Book> books = new ArrayList<>();
+    public Step bookGenerationWorkerStep(JobRepository jobRepository,
+                                         PlatformTransactionManager transactionManager) {
+        BookRowGenerator generator = new BookRowGenerator(properties.getSeed(), textGenerators.getSummary());
+        return workerStep("bookGenerationWorkerStep", jobRepository, transactionManager, properties.getBook(),
+                generator, stepExecution -> generator, bookWriter);
+    }
 
-            log.info("책 데이터 생성 시작: {}권", count);
+    @Bean
+    public Step discussionGenerationWorkerStep(JobRepository jobRepository,
+                                               PlatformTransactionManager transactionManager) {
+        return workerStep("discussionGenerationWorkerStep", jobRepository, transactionManager,
+                properties.getDiscussion(), discussionRowGenerator(null), this::newDiscussionRowGenerator,
+                discussionWriter);
+    }
 
-            String[] genres = {"프로그래밍", "웹 개발", "데이터 과학", "인공지능", "알고리즘", "네트워크", "데이터베이스", "클라우드", "운영체제", "컴퓨터 구조", "소프트웨어 공학", "보안"};
-            String[] publishers = {"한빛미디어", "위키북스", "에이콘", "인사이트", "제이펍", "길벗"};
+    @Bean
+    public Step commentGenerationWorkerStep(JobRepository jobRepository,
+                                            PlatformTransactionManager transactionManager) {
+        return workerStep("commentGenerationWorkerStep", jobRepository, transactionManager,
+                properties.getComment(), commentRowGenerator(null), this::newCommentRowGenerator, commentWriter);
+    }
 
-            for (int i = 1; i <= count; i++) {
-                String genre = genres[random.nextInt(genres.length)];
-                String publisher = publishers[random.nextInt(publishers.length)];
+    @Bean
+    public Step replyGenerationWorkerStep(JobRepository jobRepository,
+                                          PlatformTransactionManager transactionManager) {
+        return workerStep("replyGenerationWorkerStep", jobRepository, transactionManager,
+                properties.getReply(), replyRowGenerator(null), this::newReplyRowGenerator, replyWriter);
+    }
 
-                Book book = Book.builder()
-                        .title(genre + " 완벽 가이드 " + i)
-                        .summary("이것은 " + genre + " 분야의 기술 서적입니다. 입문자부터 전문가까지 실무에 필요한 핵심 개념과 활용법을 다룹니다. "
-                                + "다양한 예제 코드와 함께 체계적으로 학습할 수 있으며, 실전 프로젝트에 바로 적용 가능한 실용적인 내용을 담고 있습니다.")
-                        .author("저자" + i)
-                        .publisher(publisher)
-                        .isbn(String.format("97%011d", i))
-                        .image("https://example.com/book/" + i + ".jpg")
-                        .build();
-                books.add(book);
+    @Bean
+    public Step replyStreamingGenerationWorkerStep(JobRepository jobRepository,
+                                                   PlatformTransactionManager transactionManager) {
+        return workerStep("replyStreamingGenerationWorkerStep", jobRepository, transactionManager,
+                properties.getReply(), replyStreamingRowGenerator(null), this::newReplyStreamingRowGenerator,
+                replyWriter);
+    }
 
-                if (i % 100 == 0) {
-                    bookRepository.saveAll(books);
-                    books.clear();
-                    log.info("책 {}권 저장 완료", i);
-                }
-            }
+    // 트리 쓰기는 생성 키가 필요하므로 discussion.write-mode와 관계없이 JDBC 배치 INSERT를 쓴다
+    @Bean
+    public Step discussionTreeGenerationWorkerStep(JobRepository jobRepository,
+                                                   PlatformTransactionManager transactionManager) {
+        return workerStep("discussionTreeGenerationWorkerStep", jobRepository, transactionManager,
+                properties.getDiscussion(), discussionTreeGenerator(null), this::newDiscussionTreeGenerator,
+                new DiscussionTreeWriter(dataSource));
+    }
 
-            if (!books.isEmpty()) {
-                bookRepository.saveAll(books);
-            }
+    // chunk 모드는 스텝 스코프 생성기를 쓰는 청크 스텝, pipelined 모드는 생성기를 직접 만들어 여러 스레드에서 공유하는 태스크릿 스텝
+    private <T> Step workerStep(String name, JobRepository jobRepository, PlatformTransactionManager transactionManager,
+                                EntityProperties entity, ItemProcessor<Long, T> stepScopedGenerator,
+                                Function<StepExecution, ItemProcessor<Long, T>> generatorFactory,
+                                ItemWriter<T> writer) {
+        String entityName = name.replaceAll("(Streaming)?GenerationWorkerStep", "");
+        double bytesPerRow = datasetSizePlanner.bytesPerRow(entityName);
+        GenerationMetrics metrics = new GenerationMetrics(entityName, bytesPerRow);
+        if (entity.getExecution() == ExecutionMode.PIPELINED) {
+            checkPoolSize(name, connections(entity));
+            // 쓰기는 작업자마다 별도 트랜잭션으로 커밋하므로 태스크릿 자체는 커넥션을 잡고 있지 않는다
+            // 작업자 트랜잭션이 커밋한 배치 구간도 함께 남기므로 작업자끼리 잠금을 나눠 쓰지 않는다
+            return new StepBuilder(name, jobRepository)
+                    .tasklet(new PipelinedGenerationTasklet<>(generatorFactory, writer,
+                            new TransactionTemplate(transactionManager), new PipelineCheckpoints(dataSource),
+                            properties.getPipeline(),
+                            entity.getChunkSize(), properties.getAdaptiveBatch(), metrics),
+                            new ResourcelessTransactionManager())
+                    .listener(new PartitionThroughputListener(bytesPerRow))
+                    .build();
+        }
+
+        GenerationMetricsListener<T> metricsListener = new GenerationMetricsListener<>(metrics);
+        SimpleStepBuilder<Long, T> builder;
+        if (properties.getAdaptiveBatch().isEnabled()) {
+            // chunk-size는 시작 크기로만 쓰고, 청크마다 쓰기 + 커밋 시간을 재서 다음 크기를 정한다
+            AdaptiveChunkSizePolicy<T> policy = new AdaptiveChunkSizePolicy<>(properties.getAdaptiveBatch(),
+                    entity.getChunkSize());
+            builder = new StepBuilder(name, jobRepository)
+                    .<Long, T>chunk(policy, transactionManager)
+                    .listener((StepExecutionListener) policy)
+                    .listener((ChunkListener) policy)
+                    .listener((ItemWriteListener<T>) policy);
+        } else {
+            builder = new StepBuilder(name, jobRepository)
+                    .<Long, T>chunk(entity.getChunkSize(), transactionManager);
+        }
+        return builder
+                .reader(generationIndexReader(null, null))
+                .processor(stepScopedGenerator)
+                .writer(writer)
+                .listener((ChunkListener) metricsListener)
+                .listener((ItemWriteListener<T>) metricsListener)
+                .listener(new PartitionThroughputListener(bytesPerRow))
+                .build();
+    }
 
-            log.info("책 데이터 생성 완료: 총 {}권", count);
-            return RepeatStatus.FINISHED;
-        };
+    // 파티션마다 pipelined 단계는 쓰기 작업자 수만큼, chunk 단계는 하나씩 커넥션을 동시에 쓴다
+    private int connections(EntityProperties entity) {
+        return properties.getGridSize()
+                * (entity.getExecution() == ExecutionMode.PIPELINED ? properties.getPipeline().getWriters() : 1);
     }
 
-    @Bean
-    public Tasklet discussionGenerationTasklet() {
-        return (contribution, chunkContext) -> {
-            int count = 1000000; // 생성할 토론 수
-            List<Member> members = memberRepository.findAll();
-            List<Book> books = bookRepository.findAll();
+    // 풀이 모자라면 작업자가 커넥션을 기다리다 타임아웃으로 실패하므로, 실행 중에 실패하지 않도록 스텝과 Job을 만들 때 확인한다
+    // 단계 하나는 workerStep에서, 단계를 동시에 실행하는 Job은 동시에 실행되는 단계를 합쳐 확인한다
+    private void checkPoolSize(String name, int required) {
+        HikariDataSource hikari;
+        try {
+            hikari = dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            hikari = null;
+        }
+        if (hikari != null && hikari.getMaximumPoolSize() < required) {
+            throw new IllegalStateException(name + "는 커넥션을 동시에 " + required
+                    + "개 쓰지만 spring.datasource.hikari.maximum-pool-size는 " + hikari.getMaximumPoolSize()
+                    + "입니다. 풀 크기를 늘리거나 grid-size, pipeline.writers를 줄이세요.");
+        }
+    }
 
-            if (members.isEmpty() || books.isEmpty()) {
-                log.error("회원 또는 책 데이터가 없습니다.");
-                return RepeatStatus.FINISHED;
-            }
+    // dataRestoreJob과 같이 덤프 파일 하나를 파티션 하나로 적재하되, 원래 테이블 대신 새 테이블에 넣는다
+    private Step shadowLoadStep(RowTable<?> table, JobRepository jobRepository,
+                                PlatformTransactionManager transactionManager) {
+        Step workerStep = new StepBuilder(table.name() + "ShadowLoadWorkerStep", jobRepository)
+                .tasklet(new DumpRestoreTasklet(table, table.name() + ShadowTablesPrepareTasklet.SHADOW_SUFFIX,
+                        bulkLoader, Path.of(properties.getBulkLoad().getDirectory())), transactionManager)
+                .listener(new PartitionThroughputListener())
+                .build();
 
-            List<Discussion> discussions = new ArrayList<>();
-
-            log.info("토론 데이터 생성 시작: {}개", count);
-
-            String[] topics = {"코드 구현", "설계 패턴", "알고리즘", "성능 최적화", "아키텍처", "실전 활용", "예제 분석", "개념 정리", "실습 과제"};
-
-            for (int i = 1; i <= count; i++) {
-                Member randomMember = members.get(random.nextInt(members.size()));
-                Book randomBook = books.get(random.nextInt(books.size()));
-                String topic = topics[random.nextInt(topics.length)];
-
-                Discussion discussion = Discussion.builder()
-                        .title(randomBook.getTitle() + "의 " + topic + "에 대한 토론 " + i)
-                        .content("이 책의 " + topic + "에 대해 이야기해봅시다. 여러분의 의견을 자유롭게 남겨주세요. "
-                                + "실무에 적용하면서 느낀 점이나 더 좋은 방법이 있다면 공유 부탁드립니다. "
-                                + "저는 이 부분이 특히 유용했는데요, 다른 분들은 어떻게 활용하고 계신지 궁금합니다.")
-                        .viewCount((long) random.nextInt(1000))
-                        .member(randomMember)
-                        .book(randomBook)
-                        .build();
-                discussions.add(discussion);
-
-                if (i % 500 == 0) {
-                    discussionRepository.saveAll(discussions);
-                    discussions.clear();
-                    log.info("토론 {}개 저장 완료", i);
-                }
-            }
+        return new StepBuilder(table.name() + "ShadowLoadStep", jobRepository)
+                .partitioner(workerStep.getName(),
+                        new DumpFilePartitioner(Path.of(properties.getDump().getDirectory()), table.name()))
+                .step(workerStep)
+                .gridSize(properties.getGridSize())
+                .taskExecutor(generationTaskExecutor)
+                .listener(new PartitionThroughputListener())
+                .build();
+    }
 
-            if (!discussions.isEmpty()) {
-                discussionRepository.saveAll(discussions);
-            }
+    // 두 단계를 각각의 스레드에서 동시에 실행하고, 둘 다 끝나야 다음 단계로 넘어간다
+    private Flow split(String name, Step first, Step second) {
+        return new FlowBuilder<SimpleFlow>(name)
+                .split(flowTaskExecutor)
+                .add(new FlowBuilder<SimpleFlow>(first.getName() + "Flow").start(first).build(),
+                        new FlowBuilder<SimpleFlow>(second.getName() + "Flow").start(second).build())
+                .build();
+    }
 
-            log.info("토론 데이터 생성 완료: 총 {}개", count);
-            return RepeatStatus.FINISHED;
-        };
+    // 1..count 인덱스 범위를 grid-size개로 나눠 워커 스텝을 병렬 실행한다
+    // top-up 모드는 count를 목표 건수로 보고 테이블에 모자란 만큼만 이어지는 번호로 나눈다
+    // 분산 모드는 파티션을 JobRepository에 올려 두고 여러 프로세스의 PartitionWorker가 가져가 실행한다
+    private Step partitionedStep(String name, JobRepository jobRepository, Step workerStep, String table,
+                                 EntityProperties entity) {
+        Partitioner partitioner = properties.isTopUp()
+                ? new TopUpPartitioner(new JdbcTemplate(dataSource), table, entity.getCount())
+                : new IndexRangePartitioner(entity.getCount());
+        PartitionStepBuilder builder = new StepBuilder(name, jobRepository)
+                .partitioner(workerStep.getName(), partitioner);
+
+        DistributedProperties distributed = properties.getDistributed();
+        if (distributed.isEnabled()) {
+            builder.partitionHandler(new RepositoryPartitionHandler(jobRepository, jobExplorer,
+                    distributed.getPartitions(), distributed.getPollInterval(), distributed.getTimeout(),
+                    distributed.getLeaseTimeout()));
+        } else {
+            builder.step(workerStep)
+                    .gridSize(properties.getGridSize())
+                    .taskExecutor(generationTaskExecutor);
+        }
+        // 트리 스텝(discussionTree)은 세 테이블을 함께 쓰므로 행당 크기가 없어 바이트를 출력하지 않는다
+        double bytesPerRow = datasetSizePlanner.bytesPerRow(name.replaceAll("(Streaming)?GenerationStep", ""));
+        return builder
+                .listener(new PartitionThroughputListener(bytesPerRow))
+                .build();
     }
 
     @Bean
-    public Tasklet commentGenerationTasklet() {
-        return (contribution, chunkContext) -> {
-            int count = 200000; // 생성할 댓글 수
-            List<Member> members = memberRepository.findAll();
-            List<Discussion> discussions = discussionRepository.findAll();
+    @StepScope
+    public IndexItemReader generationIndexReader(@Value("#{stepExecutionContext['minIndex']}") Long minIndex,
+                                                 @Value("#{stepExecutionContext['maxIndex']}") Long maxIndex) {
+        return new IndexItemReader(minIndex, maxIndex);
+    }
 
-            if (members.isEmpty() || discussions.isEmpty()) {
-                log.error("회원 또는 토론 데이터가 없습니다.");
-                return RepeatStatus.FINISHED;
-            }
+    @Bean
+    @StepScope
+    public DiscussionRowGenerator discussionRowGenerator(@Value("#{stepExecution}") StepExecution stepExecution) {
+        return newDiscussionRowGenerator(stepExecution);
+    }
 
-            List<Comment> comments = new ArrayList<>();
-
-            log.info("댓글 데이터 생성 시작: {}개", count);
-
-            String[] reactions = {
-                    "정말 공감됩니다!",
-                    "좋은 의견이네요.",
-                    "저도 비슷하게 생각했어요.",
-                    "다른 관점에서 생각해볼 수 있겠네요.",
-                    "실용적인 접근이네요.",
-                    "이 부분은 저는 다르게 구현했는데요.",
-                    "상세한 설명 감사합니다.",
-                    "실무에 바로 적용해봤습니다.",
-                    "코드 예제가 도움이 되었어요."
-            };
-
-            for (int i = 1; i <= count; i++) {
-                Member randomMember = members.get(random.nextInt(members.size()));
-                Discussion randomDiscussion = discussions.get(random.nextInt(discussions.size()));
-                String reaction = reactions[random.nextInt(reactions.length)];
-
-                Comment comment = Comment.builder()
-                        .content(reaction + " 제 프로젝트에서도 비슷한 케이스가 있었는데 이 방법을 적용해보니 효과적이었습니다. (댓글 " + i + ")")
-                        .member(randomMember)
-                        .discussion(randomDiscussion)
-                        .build();
-                comments.add(comment);
-
-                if (i % 1000 == 0) {
-                    commentRepository.saveAll(comments);
-                    comments.clear();
-                    log.info("댓글 {}개 저장 완료", i);
-                }
-            }
+    @Bean
+    @StepScope
+    public CommentRowGenerator commentRowGenerator(@Value("#{stepExecution}") StepExecution stepExecution) {
+        return newCommentRowGenerator(stepExecution);
+    }
 
-            if (!comments.isEmpty()) {
-                commentRepository.saveAll(comments);
-            }
+    @Bean
+    @StepScope
+    public ReplyRowGenerator replyRowGenerator(@Value("#{stepExecution}") StepExecution stepExecution) {
+        return newReplyRowGenerator(stepExecution);
+    }
 
-            log.info("댓글 데이터 생성 완료: 총 {}개", count);
-            return RepeatStatus.FINISHED;
-        };
+    @Bean
+    @StepScope
+    public ReplyRowGenerator replyStreamingRowGenerator(@Value("#{stepExecution}") StepExecution stepExecution) {
+        return newReplyStreamingRowGenerator(stepExecution);
     }
 
     @Bean
-    public Tasklet replyGenerationTasklet() {
-        return (contribution, chunkContext) -> {
-            int count = 100000; // 생성할 답글 수
-            List<Member> members = memberRepository.findAll();
-            List<Comment> comments = commentRepository.findAll();
+    @StepScope
+    public DiscussionTreeGenerator discussionTreeGenerator(@Value("#{stepExecution}") StepExecution stepExecution) {
+        return newDiscussionTreeGenerator(stepExecution);
+    }
 
-            if (members.isEmpty() || comments.isEmpty()) {
-                log.error("회원 또는 댓글 데이터가 없습니다.");
-                return RepeatStatus.FINISHED;
-            }
+    // 스텝 스코프 프록시는 스텝 스레드에서만 동작하므로 pipelined 모드는 이 메서드로 생성기를 직접 만든다
+    private DiscussionRowGenerator newDiscussionRowGenerator(StepExecution stepExecution) {
+        return new DiscussionRowGenerator(
+                properties.getSeed(),
+                idPoolCache.ids(stepExecution, "member"),
+                sampler(stepExecution, properties.getDiscussion(), "member"),
+                idPoolCache.ids(stepExecution, "book"),
+                sampler(stepExecution, properties.getDiscussion(), "book"),
+                idPoolCache.column(stepExecution, "book", "title"),
+                textGenerators.getDiscussion());
+    }
 
-            List<Reply> replies = new ArrayList<>();
-
-            log.info("답글 데이터 생성 시작: {}개", count);
-
-            String[] reactions = {
-                    "맞아요!",
-                    "저도 그렇게 생각해요.",
-                    "좋은 지적입니다.",
-                    "감사합니다!",
-                    "동의합니다.",
-                    "새로운 시각이네요."
-            };
-
-            for (int i = 1; i <= count; i++) {
-                Member randomMember = members.get(random.nextInt(members.size()));
-                Comment randomComment = comments.get(random.nextInt(comments.size()));
-                String reaction = reactions[random.nextInt(reactions.length)];
-
-                Reply reply = Reply.builder()
-                        .content(reaction + " 답글 " + i)
-                        .member(randomMember)
-                        .comment(randomComment)
-                        .build();
-                replies.add(reply);
-
-                if (i % 1000 == 0) {
-                    replyRepository.saveAll(replies);
-                    replies.clear();
-                    log.info("답글 {}개 저장 완료", i);
-                }
-            }
+    private CommentRowGenerator newCommentRowGenerator(StepExecution stepExecution) {
+        return new CommentRowGenerator(
+                properties.getSeed(),
+                idPoolCache.ids(stepExecution, "member"),
+                sampler(stepExecution, properties.getComment(), "member"),
+                idPoolCache.ids(stepExecution, "discussion"),
+                sampler(stepExecution, properties.getComment(), "discussion"),
+                textGenerators.getComment());
+    }
 
-            if (!replies.isEmpty()) {
-                replyRepository.saveAll(replies);
-            }
+    private ReplyRowGenerator newReplyRowGenerator(StepExecution stepExecution) {
+        return new ReplyRowGenerator(
+                properties.getSeed(),
+                idPoolCache.ids(stepExecution, "member"),
+                sampler(stepExecution, properties.getReply(), "member"),
+                idPoolCache.ids(stepExecution, "comment"),
+                sampler(stepExecution, properties.getReply(), "comment"),
+                textGenerators.getReply());
+    }
+
+    // 댓글과 답글의 부모는 트리에서 정해지므로 회원 ID 풀만 읽는다
+    private DiscussionTreeGenerator newDiscussionTreeGenerator(StepExecution stepExecution) {
+        return new DiscussionTreeGenerator(
+                newDiscussionRowGenerator(stepExecution),
+                new CommentRowGenerator(properties.getSeed(), idPoolCache.ids(stepExecution, "member"),
+                        sampler(stepExecution, properties.getComment(), "member"), textGenerators.getComment()),
+                new ReplyRowGenerator(properties.getSeed(), idPoolCache.ids(stepExecution, "member"),
+                        sampler(stepExecution, properties.getReply(), "member"), textGenerators.getReply()),
+                treeFanOut());
+    }
+
+    private TreeFanOut treeFanOut() {
+        TreeProperties tree = properties.getTree();
+        return new TreeFanOut(properties.getSeed(), tree.getComments().getMin(), tree.getComments().getMax(),
+                tree.getReplies().getMin(), tree.getReplies().getMax());
+    }
+
+    // 댓글 ID 풀이 계속 커지므로 댓글 쪽 분포 설정과 관계없이 지금까지 커밋된 댓글 중에서 균등하게 고른다
+    private ReplyRowGenerator newReplyStreamingRowGenerator(StepExecution stepExecution) {
+        StreamingIdPool commentIds = idPoolCache.streaming(stepExecution, "comment", "commentGenerationStep");
+        try {
+            commentIds.awaitNonEmpty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("댓글 ID를 기다리는 중 중단되었습니다.", e);
+        }
+        return new ReplyRowGenerator(
+                properties.getSeed(),
+                idPoolCache.ids(stepExecution, "member"),
+                sampler(stepExecution, properties.getReply(), "member"),
+                commentIds,
+                IndexSampler.uniform(commentIds),
+                textGenerators.getReply());
+    }
 
-            log.info("답글 데이터 생성 완료: 총 {}개", count);
-            return RepeatStatus.FINISHED;
-        };
+    private IndexSampler sampler(StepExecution stepExecution, EntityProperties entity, String parentTable) {
+        DistributionProperties distribution = entity.distribution(parentTable);
+        return idPoolCache.sampler(stepExecution, parentTable, idPoolCache.ids(stepExecution, parentTable).size(),
+                distribution.getType(), distribution.getExponent());
     }
 }
@@ -1,17 +1,27 @@
 package todoktodok.batch.job;
 
-import java.util.Map;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
-import org.springframework.batch.core.configuration.JobRegistry;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
+import todoktodok.batch.config.GenerationProperties;
+import todoktodok.batch.config.GenerationProperties.DistributedProperties;
 
 @Slf4j
 @Component
@@ -19,39 +29,131 @@ import org.springframework.stereotype.Component;
 public class DataGenerationJobRunner implements CommandLineRunner {
 
     private final JobLauncher jobLauncher;
+    private final JobExplorer jobExplorer;
+    private final JobRepository jobRepository;
+    private final GenerationProperties properties;
     private final ApplicationContext applicationContext;
+    private final PartitionWorker partitionWorker;
+    private final DatasetSizePlanner datasetSizePlanner;
 
     @Value("${spring.batch.job.name:allDataGenerationJob}")
     private String jobNames;
 
     @Override
     public void run(String... args) throws Exception {
+        DistributedProperties distributed = properties.getDistributed();
+        if (distributed.isEnabled() && distributed.getRole() == DistributedRole.WORKER) {
+            log.info("=== 분산 워커 시작 ===");
+            partitionWorker.runUntilIdle();
+            log.info("=== 분산 워커 종료 ({} 동안 가져갈 파티션 없음) ===", distributed.getIdleTimeout());
+            return;
+        }
+
+        if (!distributed.isEnabled()) {
+            runJobs();
+            return;
+        }
+        // 매니저 프로세스도 워커 하나로 참여한다
+        partitionWorker.start();
+        try {
+            runJobs();
+        } finally {
+            partitionWorker.stop();
+        }
+    }
+
+    private void runJobs() throws Exception {
         log.info("=== 데이터 생성 배치 작업 시작 ===");
         log.info("실행할 Job: {}", jobNames);
 
         String[] jobNameArray = jobNames.split(",");
-        Map<String, Job> jobs = applicationContext.getBeansOfType(Job.class);
+        // Job 빈은 지연 생성되므로 getBeansOfType으로 모두 만들지 않고 이름으로 하나씩 꺼낸다
+        List<String> jobs = List.of(applicationContext.getBeanNamesForType(Job.class));
 
         for (String jobName : jobNameArray) {
             String trimmedJobName = jobName.trim();
 
-            if (jobs.containsKey(trimmedJobName)) {
+            if (jobs.contains(trimmedJobName)) {
                 log.info(">>> Job 실행 시작: {}", trimmedJobName);
 
-                JobParameters jobParameters = new JobParametersBuilder()
-                        .addLong("timestamp", System.currentTimeMillis())
-                        .addString("jobName", trimmedJobName)
-                        .toJobParameters();
-
-                jobLauncher.run(jobs.get(trimmedJobName), jobParameters);
+                // 파티셔너가 count를 빈 생성 시점에 읽으므로 목표 크기로 정한 건수를 Job 빈을 꺼내기 전에 반영한다
+                JobParameters jobParameters = datasetSizePlanner.plan(trimmedJobName, jobParameters(trimmedJobName));
+                JobExecution execution = jobLauncher.run(applicationContext.getBean(trimmedJobName, Job.class),
+                        jobParameters);
 
-                log.info("<<< Job 실행 완료: {}", trimmedJobName);
+                log.info("<<< Job 실행 완료: {} ({})", trimmedJobName, execution.getStatus());
             } else {
                 log.warn("Job을 찾을 수 없습니다: {}", trimmedJobName);
-                log.info("사용 가능한 Job 목록: {}", jobs.keySet());
+                log.info("사용 가능한 Job 목록: {}", jobs);
             }
         }
 
         log.info("=== 데이터 생성 배치 작업 완료 ===");
     }
-}
\ No newline at end of file
+
+    // 마지막 실행이 실패했거나 중단됐으면 같은 JobParameters로 실행해 저장된 체크포인트부터 재시작한다
+    private JobParameters jobParameters(String jobName) {
+        JobExecution lastExecution = lastExecution(jobName);
+        if (properties.isRestart() && lastExecution != null && isRestartable(lastExecution)) {
+            log.info("이전 실행(id={}, {})을 이어서 재시작합니다.", lastExecution.getId(), lastExecution.getStatus());
+            return lastExecution.getJobParameters();
+        }
+
+        return new JobParametersBuilder()
+                .addLong("timestamp", System.currentTimeMillis())
+                .addString("jobName", jobName)
+                .toJobParameters();
+    }
+
+    private JobExecution lastExecution(String jobName) {
+        JobInstance lastInstance = jobExplorer.getLastJobInstance(jobName);
+        if (lastInstance == null) {
+            return null;
+        }
+        return jobExplorer.getLastJobExecution(lastInstance);
+    }
+
+    private boolean isRestartable(JobExecution execution) {
+        if (execution.getStatus() == BatchStatus.STARTED || execution.getStatus() == BatchStatus.STOPPING) {
+            Duration sinceUpdate = Duration.between(lastUpdated(execution), LocalDateTime.now());
+            if (!properties.isForceRestart() && sinceUpdate.compareTo(properties.getRestartStaleAfter()) < 0) {
+                throw new IllegalStateException("이전 실행(id=" + execution.getId() + ")이 " + sinceUpdate.toSeconds()
+                        + "초 전에 갱신된 " + execution.getStatus() + " 상태입니다. 다른 프로세스가 실행 중일 수 있으므로 시작하지 않습니다. "
+                        + "강제 종료된 실행이면 generation.restart-stale-after가 지난 뒤 다시 실행하거나 "
+                        + "--generation.force-restart=true로 실행하세요.");
+            }
+            markFailed(execution);
+        }
+        return execution.getStatus() == BatchStatus.FAILED || execution.getStatus() == BatchStatus.STOPPED;
+    }
+
+    // 스텝 실행은 커밋할 때마다 갱신되므로 Job 실행과 스텝 실행 중 가장 최근 갱신 시각을 본다
+    private LocalDateTime lastUpdated(JobExecution execution) {
+        LocalDateTime lastUpdated = execution.getLastUpdated() != null ? execution.getLastUpdated()
+                : execution.getCreateTime();
+        for (StepExecution stepExecution : execution.getStepExecutions()) {
+            if (stepExecution.getLastUpdated() != null && stepExecution.getLastUpdated().isAfter(lastUpdated)) {
+                lastUpdated = stepExecution.getLastUpdated();
+            }
+        }
+        return lastUpdated;
+    }
+
+    // 프로세스가 강제 종료되면 실행 상태가 STARTED로 남으므로 FAILED로 정리해야 재시작할 수 있다
+    private void markFailed(JobExecution execution) {
+        log.warn("비정상 종료된 실행(id={})을 FAILED로 변경합니다.", execution.getId());
+        LocalDateTime now = LocalDateTime.now();
+        for (StepExecution stepExecution : execution.getStepExecutions()) {
+            if (stepExecution.getStatus().isRunning()) {
+                stepExecution.setStatus(BatchStatus.FAILED);
+                stepExecution.setExitStatus(ExitStatus.FAILED);
+                stepExecution.setEndTime(now);
+                jobRepository.update(stepExecution);
+            }
+        }
+        execution.setStatus(BatchStatus.FAILED);
+        execution.setExitStatus(ExitStatus.FAILED);
+        execution.setEndTime(now);
+        jobRepository.update(execution);
+    }
+}
@@ -0,0 +1,259 @@
+package todoktodok.batch.job;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import todoktodok.batch.config.GenerationProperties.VerificationProperties;
+import todoktodok.batch.support.IdBitSet;
+import todoktodok.batch.support.IntHistogram;
+
+// 생성이 끝난 테이블을 부모부터 한 번씩만 PK 범위로 나눠 병렬로 읽으며 건수, 부모 없는 행, 부모당 자식 수 분포,
+// 본문 길이를 메모리에서 집계하고 보고서 파일로 남긴다 (GROUP BY 같은 테이블 전체 집계 쿼리는 실행하지 않는다)
+@Slf4j
+public class DataVerificationTasklet implements Tasklet {
+
+    // 구간 하나의 최대 ID 수 (64의 배수), 구간마다 결과를 한 번에 받아도 메모리가 부담되지 않는 크기
+    private static final long MAX_RANGE_SIZE = 64 * 1024;
+
+    private final List<Table> tables;
+    private final VerificationProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final int parallelism;
+
+    // 테이블 이름, 목표 건수, 부모 테이블(외래 키 컬럼은 "<부모>_id"), 길이를 볼 본문 컬럼(없으면 null)과 설정된 길이 범위
+    public record Table(String name, long expectedCount, List<String> parents, String textColumn, int textMin,
+                        int textMax) {
+    }
+
+    public DataVerificationTasklet(List<Table> tables, VerificationProperties properties, JdbcTemplate jdbcTemplate,
+                                   int parallelism) {
+        this.tables = tables;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        if (!properties.isEnabled()) {
+            return RepeatStatus.FINISHED;
+        }
+        ExecutionContext context = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        List<String> report = new ArrayList<>();
+        report.add("데이터셋 검증 보고서 (" + LocalDateTime.now().withNano(0) + ")");
+
+        // 자식 테이블을 읽을 때 부모 존재 여부와 자식 수를 확인할 수 있도록 부모 테이블부터 읽는다
+        Map<String, IdBitSet> ids = new HashMap<>();
+        long totalOrphans = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            for (Table table : tables) {
+                long startedAt = System.currentTimeMillis();
+                Scan scan = scan(table, ids, executor);
+                ids.put(table.name(), scan.ids);
+                contribution.incrementReadCount(scan.rows);
+                totalOrphans += scan.totalOrphans();
+                report(table, scan, ids, System.currentTimeMillis() - startedAt, report);
+                save(table, scan, context);
+            }
+        }
+
+        Path path = Path.of(properties.getReport());
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.write(path, report);
+        report.forEach(line -> log.info("[검증] {}", line));
+        log.info("검증 보고서: {}", path.toAbsolutePath());
+
+        if (totalOrphans > 0) {
+            throw new IllegalStateException("부모 없는 행이 " + totalOrphans + "건 있습니다. 보고서: " + path.toAbsolutePath());
+        }
+        return RepeatStatus.FINISHED;
+    }
+
+    private Scan scan(Table table, Map<String, IdBitSet> ids, ExecutorService executor) throws Exception {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM "
+                + table.name());
+        if (bounds.get("min_id") == null) {
+            return new Scan(table, IdBitSet.empty(), ids);
+        }
+        long minId = ((Number) bounds.get("min_id")).longValue();
+        long maxId = ((Number) bounds.get("max_id")).longValue();
+        Scan scan = new Scan(table, new IdBitSet(minId, maxId), ids);
+
+        // 구간 경계를 64의 배수에 맞춰 구간마다 비트 집합의 서로 다른 워드를 쓰게 한다
+        long span = maxId - scan.ids.base() + 1;
+        long rangeSize = Math.min(MAX_RANGE_SIZE, Math.max(64, (span / (parallelism * 4L) + 63) & ~63L));
+        String sql = select(table);
+        List<Future<Range>> ranges = new ArrayList<>();
+        for (long from = scan.ids.base(); from <= maxId; from += rangeSize) {
+            long to = Math.min(from + rangeSize - 1, maxId);
+            ranges.add(executor.submit(() -> scan.range(sql, from, to)));
+        }
+        for (Future<Range> range : ranges) {
+            scan.merge(range.get());
+        }
+        return scan;
+    }
+
+    private String select(Table table) {
+        StringBuilder sql = new StringBuilder("SELECT id");
+        for (String parent : table.parents()) {
+            sql.append(", ").append(parent).append("_id");
+        }
+        if (table.textColumn() != null) {
+            sql.append(", CHAR_LENGTH(").append(table.textColumn()).append(")");
+        }
+        return sql.append(" FROM ").append(table.name()).append(" WHERE id BETWEEN ? AND ?").toString();
+    }
+
+    private void report(Table table, Scan scan, Map<String, IdBitSet> ids, long elapsedMillis, List<String> report) {
+        report.add("");
+        String idRange = scan.rows > 0 ? String.format("id %,d..%,d", scan.minId, scan.ids.max()) : "id 없음";
+        report.add(String.format("[%s] %,d건 (목표 %,d건, %s), %s, 읽기 %,dms", table.name(), scan.rows,
+                table.expectedCount(), countStatus(scan.rows, table.expectedCount()), idRange, elapsedMillis));
+        for (int i = 0; i < table.parents().size(); i++) {
+            String parent = table.parents().get(i);
+            IntHistogram fanOut = scan.fanOut(i, ids.get(parent));
+            report.add(String.format("  %s_id: 부모 없음 %,d건", parent, scan.orphans[i]));
+            report.add(String.format("  %s당 %s 수: 평균 %.2f, p50 %,d, p90 %,d, p99 %,d, 최대 %,d, 0개인 %s %,d건, 상위 1%% %s의 비중 %.1f%%",
+                    parent, table.name(), fanOut.mean(), fanOut.percentile(50), fanOut.percentile(90),
+                    fanOut.percentile(99), fanOut.max(), parent, fanOut.count(0), parent, fanOut.topShare(0.01) * 100));
+        }
+        if (table.textColumn() != null) {
+            IntHistogram lengths = scan.lengths;
+            report.add(String.format("  %s 길이: 평균 %.1f, p50 %,d, p99 %,d, 최소 %,d, 최대 %,d (설정 %,d..%,d), NULL %,d건",
+                    table.textColumn(), lengths.mean(), lengths.percentile(50), lengths.percentile(99), lengths.min(),
+                    lengths.max(), table.textMin(), table.textMax(), scan.rows - lengths.totalCount()));
+        }
+    }
+
+    private String countStatus(long rows, long expectedCount) {
+        if (rows == expectedCount) {
+            return "일치";
+        }
+        return rows < expectedCount
+                ? String.format("%,d건 부족", expectedCount - rows)
+                : String.format("%,d건 초과", rows - expectedCount);
+    }
+
+    private void save(Table table, Scan scan, ExecutionContext context) {
+        String prefix = "verification." + table.name();
+        context.putLong(prefix + ".rows", scan.rows);
+        context.putLong(prefix + ".orphans", scan.totalOrphans());
+    }
+
+    // 테이블 하나를 읽은 결과. 자식 수 배열은 구간 스레드들이 함께 쓰고, 나머지는 구간별 결과를 합친다
+    private class Scan {
+
+        private final Table table;
+        private final IdBitSet ids;
+        private final IdBitSet[] parentIds;
+        private final AtomicIntegerArray[] childCounts;
+        private final long[] orphans;
+        private final IntHistogram lengths = new IntHistogram();
+        private long rows;
+        private long minId = Long.MAX_VALUE;
+
+        private Scan(Table table, IdBitSet ids, Map<String, IdBitSet> scannedIds) {
+            this.table = table;
+            this.ids = ids;
+            int parents = table.parents().size();
+            this.parentIds = new IdBitSet[parents];
+            this.childCounts = new AtomicIntegerArray[parents];
+            this.orphans = new long[parents];
+            for (int i = 0; i < parents; i++) {
+                String parent = table.parents().get(i);
+                if (!scannedIds.containsKey(parent)) {
+                    throw new IllegalStateException(table.name() + "보다 " + parent + "를 먼저 검증해야 합니다.");
+                }
+                parentIds[i] = scannedIds.get(parent);
+                childCounts[i] = new AtomicIntegerArray(parentIds[i].span());
+            }
+        }
+
+        private Range range(String sql, long from, long to) {
+            Range range = new Range(parentIds.length);
+            int textIndex = parentIds.length + 2;
+            jdbcTemplate.query(sql, resultSet -> {
+                long id = resultSet.getLong(1);
+                ids.add(id);
+                range.rows++;
+                range.minId = Math.min(range.minId, id);
+                for (int i = 0; i < parentIds.length; i++) {
+                    long parentId = resultSet.getLong(i + 2);
+                    if (parentIds[i].contains(parentId)) {
+                        childCounts[i].incrementAndGet((int) (parentId - parentIds[i].base()));
+                    } else {
+                        range.orphans[i]++;
+                    }
+                }
+                if (table.textColumn() != null) {
+                    int length = resultSet.getInt(textIndex);
+                    if (!resultSet.wasNull()) {
+                        range.lengths.add(length);
+                    }
+                }
+            }, from, to);
+            return range;
+        }
+
+        private void merge(Range range) {
+            rows += range.rows;
+            minId = Math.min(minId, range.minId);
+            for (int i = 0; i < orphans.length; i++) {
+                orphans[i] += range.orphans[i];
+            }
+            lengths.merge(range.lengths);
+        }
+
+        private long totalOrphans() {
+            long total = 0;
+            for (long count : orphans) {
+                total += count;
+            }
+            return total;
+        }
+
+        // 실제로 있는 부모마다 자식 수를 센 분포 (자식이 없는 부모도 0으로 들어간다)
+        private IntHistogram fanOut(int parentIndex, IdBitSet parents) {
+            IntHistogram fanOut = new IntHistogram();
+            AtomicIntegerArray counts = childCounts[parentIndex];
+            for (int offset = 0; offset < counts.length(); offset++) {
+                if (parents.contains(parents.base() + offset)) {
+                    fanOut.add(counts.get(offset));
+                }
+            }
+            return fanOut;
+        }
+    }
+
+    // 구간 하나를 읽는 스레드가 혼자 쓰는 누적값
+    private static class Range {
+
+        private final long[] orphans;
+        private final IntHistogram lengths = new IntHistogram();
+        private long rows;
+        private long minId = Long.MAX_VALUE;
+
+        private Range(int parents) {
+            this.orphans = new long[parents];
+        }
+    }
+}
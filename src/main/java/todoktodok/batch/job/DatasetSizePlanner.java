@@ -0,0 +1,313 @@
+package todoktodok.batch.job;
+
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongFunction;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import todoktodok.batch.config.GenerationProperties;
+import todoktodok.batch.config.GenerationProperties.SizeTargetProperties;
+import todoktodok.batch.generator.BookRowGenerator;
+import todoktodok.batch.generator.CommentRowGenerator;
+import todoktodok.batch.generator.DiscussionRowGenerator;
+import todoktodok.batch.generator.IdPool;
+import todoktodok.batch.generator.IndexSampler;
+import todoktodok.batch.generator.MemberRowGenerator;
+import todoktodok.batch.generator.ReplyRowGenerator;
+import todoktodok.batch.generator.TextGenerators;
+import todoktodok.batch.support.DatabaseType;
+import todoktodok.batch.support.TableConstraints;
+import todoktodok.batch.support.TableConstraints.Column;
+import todoktodok.batch.support.TableConstraints.Index;
+import todoktodok.batch.writer.RowStatement;
+import todoktodok.batch.writer.RowStatements;
+
+// size-target.target이 지정되면 Job을 만들기 전에 엔티티별 행당 디스크 크기를 구해 목표 크기에 맞는 count를 정한다
+// 행 크기는 컬럼 정의와 실제로 생성한 행의 본문 길이로 추정하고, pilot-rows개를 임시 테이블에 적재해 DB가 알려 주는 크기로 보정한다
+// 계획한 건수와 행 크기는 JobParameters(식별자 아님)에 남겨 재시작할 때 다시 재지 않고 같은 값을 쓴다
+@Slf4j
+@Component
+public class DatasetSizePlanner {
+
+    private static final String COUNT_PARAMETER = "sizeTarget.%s.count";
+    private static final String BYTES_PER_ROW_PARAMETER = "sizeTarget.%s.bytesPerRow";
+
+    private static final List<String> TABLES = List.of("member", "book", "discussion", "comment", "reply");
+
+    // 엔티티 count로 생성할 행 수를 정하는 Job, 나머지(부하, 초기화, 복원)는 계획하지 않고 count도 바꾸지 않는다
+    // shardedDataGenerationJob은 회원, 책을 모든 샤드에 복제하고 나머지를 나눠 넣으므로 한 DB의 크기로 정한 건수가 맞지 않아 제외한다
+    private static final Set<String> GENERATION_JOBS = Set.of("allDataGenerationJob", "parallelDataGenerationJob",
+            "treeDataGenerationJob", "dataExportJob", "memberDataGenerationJob", "bookDataGenerationJob",
+            "discussionDataGenerationJob", "commentDataGenerationJob", "replyDataGenerationJob");
+
+    // 댓글, 답글 수를 count 대신 토론마다 tree 범위에서 정하는 Job
+    private static final String TREE_JOB = "treeDataGenerationJob";
+
+    // InnoDB 행 헤더(5) + 트랜잭션 ID(6) + 롤백 포인터(7)
+    private static final int ROW_OVERHEAD = 18;
+    // 보조 인덱스 항목 하나의 헤더와 기본 키
+    private static final int INDEX_ENTRY_OVERHEAD = 5 + 8;
+    // 순서대로 적재할 때 페이지를 채우는 비율 (InnoDB는 15/16을 채우고 나눈다)
+    private static final double PAGE_FILL = 15.0 / 16;
+    private static final int PILOT_BATCH_SIZE = 1000;
+    private static final String PILOT_SUFFIX = "_pilot";
+
+    private final GenerationProperties properties;
+    private final TextGenerators textGenerators;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 행 크기는 Job과 관계없으므로 프로세스에서 한 번만 잰다. 건수는 Job마다 계산하므로 처음 설정된 count를 비율로 남겨 둔다
+    private List<Estimate> estimates = List.of();
+    private Map<String, Double> configuredRatios = Map.of();
+    private volatile Map<String, Double> bytesPerRow = Map.of();
+
+    public record Estimate(String table, double estimatedBytesPerRow, double measuredBytesPerRow) {
+
+        public double bytesPerRow() {
+            return measuredBytesPerRow > 0 ? measuredBytesPerRow : estimatedBytesPerRow;
+        }
+    }
+
+    public DatasetSizePlanner(GenerationProperties properties, TextGenerators textGenerators, DataSource dataSource) {
+        this.properties = properties;
+        this.textGenerators = textGenerators;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    // 계획이 없으면 0 (진행 상황을 바이트로 출력하지 않는다)
+    public double bytesPerRow(String table) {
+        return bytesPerRow.getOrDefault(table, 0.0);
+    }
+
+    // 목표 크기가 없거나 생성 Job이 아니면 그대로 돌려준다. 재시작이면 이전 실행의 계획을 다시 적용한다
+    public synchronized JobParameters plan(String jobName, JobParameters parameters) {
+        SizeTargetProperties sizeTarget = properties.getSizeTarget();
+        if (sizeTarget.getTarget() == null || !GENERATION_JOBS.contains(jobName)) {
+            return parameters;
+        }
+        if (configuredRatios.isEmpty()) {
+            configuredRatios = ratios(sizeTarget);
+        }
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        Map<String, Double> bytes = new HashMap<>();
+        if (parameters.getLong(COUNT_PARAMETER.formatted(TABLES.get(0))) != null) {
+            for (String table : TABLES) {
+                counts.put(table, parameters.getLong(COUNT_PARAMETER.formatted(table)));
+                bytes.put(table, parameters.getDouble(BYTES_PER_ROW_PARAMETER.formatted(table)));
+            }
+            log.info("이전 실행의 크기 계획을 사용합니다: {}", counts);
+        } else {
+            if (estimates.isEmpty()) {
+                estimates = TABLES.stream().map(table -> estimate(table, sizeTarget.getPilotRows())).toList();
+            }
+            estimates.forEach(estimate -> bytes.put(estimate.table(), estimate.bytesPerRow()));
+            counts.putAll(counts(sizeTarget.getTarget(), jobRatios(jobName), bytes));
+            report(sizeTarget.getTarget(), estimates, counts);
+        }
+
+        JobParametersBuilder builder = new JobParametersBuilder(parameters);
+        for (String table : TABLES) {
+            properties.entity(table).setCount(counts.get(table));
+            builder.addLong(COUNT_PARAMETER.formatted(table), counts.get(table), false);
+            builder.addDouble(BYTES_PER_ROW_PARAMETER.formatted(table), bytes.get(table), false);
+        }
+        bytesPerRow = Map.copyOf(bytes);
+        return builder.toJobParameters();
+    }
+
+    // 계획이 count를 덮어쓰기 전의 설정으로 비율을 정한다
+    private Map<String, Double> ratios(SizeTargetProperties sizeTarget) {
+        Map<String, Double> ratios = new LinkedHashMap<>();
+        for (String table : TABLES) {
+            ratios.put(table, sizeTarget.getRatios().isEmpty()
+                    ? properties.entity(table).getCount()
+                    : sizeTarget.getRatios().getOrDefault(table, 0.0));
+        }
+        return ratios;
+    }
+
+    // 트리 Job은 토론 하나에 평균 (min + max) / 2개의 댓글, 댓글 하나에 평균 (min + max) / 2개의 답글이 붙으므로
+    // 댓글, 답글 비율을 토론 비율과 평균 자식 수로 바꾼다. 계획한 댓글, 답글 건수는 기대값이다
+    private Map<String, Double> jobRatios(String jobName) {
+        if (!TREE_JOB.equals(jobName)) {
+            return configuredRatios;
+        }
+        double commentsPerDiscussion = (properties.getTree().getComments().getMin()
+                + properties.getTree().getComments().getMax()) / 2.0;
+        double repliesPerComment = (properties.getTree().getReplies().getMin()
+                + properties.getTree().getReplies().getMax()) / 2.0;
+        Map<String, Double> ratios = new LinkedHashMap<>(configuredRatios);
+        ratios.put("comment", ratios.get("discussion") * commentsPerDiscussion);
+        ratios.put("reply", ratios.get("discussion") * commentsPerDiscussion * repliesPerComment);
+        return ratios;
+    }
+
+    // 비율 r, 행 크기 b일 때 목표 크기 T = k * Σ(r * b)를 만족하는 k로 건수 k * r을 정한다
+    private Map<String, Long> counts(DataSize target, Map<String, Double> ratios, Map<String, Double> bytes) {
+        double bytesPerUnit = TABLES.stream().mapToDouble(table -> ratios.get(table) * bytes.get(table)).sum();
+        if (bytesPerUnit <= 0) {
+            throw new IllegalStateException("엔티티별 비율이 모두 0입니다: " + ratios);
+        }
+        double scale = target.toBytes() / bytesPerUnit;
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String table : TABLES) {
+            // 자식 테이블의 외래 키를 고를 수 있도록 비율이 0이 아닌 엔티티는 최소 한 건
+            long count = Math.round(ratios.get(table) * scale);
+            counts.put(table, ratios.get(table) > 0 ? Math.max(1, count) : 0);
+        }
+        return counts;
+    }
+
+    private Estimate estimate(String table, int pilotRows) {
+        List<Record> sample = sample(table, Math.max(pilotRows, 100));
+        List<Column> columns = TableConstraints.columns(dataSource, table);
+        List<Index> indexes = TableConstraints.secondaryIndexes(dataSource, table);
+        Map<String, Double> widths = columnWidths(columns, sample);
+
+        double indexBytes = indexes.stream()
+                .mapToDouble(index -> INDEX_ENTRY_OVERHEAD + index.columns().stream()
+                        .mapToDouble(column -> widths.getOrDefault(column, 8.0))
+                        .sum())
+                .sum();
+        double dataBytes = ROW_OVERHEAD + widths.values().stream().mapToDouble(Double::doubleValue).sum();
+        double estimated = (dataBytes + indexBytes) / PAGE_FILL;
+        double measured = pilotRows > 0 ? measure(table, sample.subList(0, Math.min(pilotRows, sample.size())), indexBytes)
+                : 0;
+        return new Estimate(table, estimated, measured);
+    }
+
+    // 문자열 컬럼은 생성한 행의 평균 UTF-8 바이트 수 + 길이 접두사, 나머지는 타입별 고정 크기, 값이 없는 nullable 컬럼은 0
+    private Map<String, Double> columnWidths(List<Column> columns, List<Record> sample) {
+        Map<String, Double> textBytes = averageTextBytes(sample);
+        Map<String, Double> widths = new LinkedHashMap<>();
+        for (Column column : columns) {
+            String type = column.typeName().toUpperCase();
+            if (type.contains("CHAR") || type.contains("TEXT")) {
+                double length = textBytes.getOrDefault(column.name(), 0.0);
+                widths.put(column.name(), length + (column.size() * 4L > 255 ? 2 : 1));
+            } else if (textBytes.containsKey(column.name()) || !column.nullable() || column.defaultValue() != null) {
+                widths.put(column.name(), type.contains("INT") && !type.contains("BIGINT") ? 4.0 : 8.0);
+            } else {
+                widths.put(column.name(), 0.0);
+            }
+        }
+        return widths;
+    }
+
+    // 레코드 컴포넌트 이름(camelCase)을 컬럼 이름(snake_case)으로 바꿔 평균 바이트 수를 구한다 (숫자 컴포넌트는 0)
+    private Map<String, Double> averageTextBytes(List<Record> sample) {
+        Map<String, Double> totals = new HashMap<>();
+        for (Record row : sample) {
+            for (RecordComponent component : row.getClass().getRecordComponents()) {
+                Object value;
+                try {
+                    value = component.getAccessor().invoke(row);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+                double length = value instanceof CharSequence text
+                        ? text.toString().getBytes(StandardCharsets.UTF_8).length
+                        : 0;
+                totals.merge(component.getName().replaceAll("([A-Z])", "_$1").toLowerCase(), length, Double::sum);
+            }
+        }
+        totals.replaceAll((column, total) -> total / sample.size());
+        return totals;
+    }
+
+    // 컬럼과 기본 키가 같은 임시 테이블에 적재해 DB가 알려 주는 데이터 크기를 행 수로 나눈다
+    // 임시 테이블에는 보조 인덱스를 만들지 않으므로(H2의 DISK_SPACE_USED는 인덱스를 세지도 않는다) 인덱스는 추정치를 더한다
+    private double measure(String table, List<Record> rows, double indexBytesPerRow) {
+        DatabaseType databaseType = DatabaseType.of(dataSource);
+        String pilotTable = table + PILOT_SUFFIX;
+        if (TableConstraints.exists(dataSource, pilotTable)) {
+            jdbcTemplate.execute("DROP TABLE " + pilotTable);
+        }
+        jdbcTemplate.execute(TableConstraints.copyTableSql(databaseType, dataSource, table, pilotTable));
+        try {
+            insert(table, pilotTable, rows);
+            if (databaseType == DatabaseType.MYSQL) {
+                jdbcTemplate.execute("ANALYZE TABLE " + pilotTable);
+                Long bytes = jdbcTemplate.queryForObject("SELECT data_length FROM information_schema.TABLES"
+                        + " WHERE table_schema = DATABASE() AND table_name = ?", Long.class, pilotTable);
+                return bytes == null ? 0 : (double) bytes / rows.size() + indexBytesPerRow;
+            }
+            Long bytes = jdbcTemplate.queryForObject("SELECT DISK_SPACE_USED(?)", Long.class, pilotTable.toUpperCase());
+            return bytes == null ? 0 : (double) bytes / rows.size() + indexBytesPerRow;
+        } finally {
+            jdbcTemplate.execute("DROP TABLE " + pilotTable);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void insert(String table, String pilotTable, List<Record> rows) {
+        RowStatement statement = switch (table) {
+            case "member" -> RowStatements.MEMBER;
+            case "book" -> RowStatements.BOOK;
+            case "discussion" -> RowStatements.DISCUSSION;
+            case "comment" -> RowStatements.COMMENT;
+            default -> RowStatements.REPLY;
+        };
+        RowStatement pilot = new RowStatement(pilotTable, statement.columns(), statement.setter());
+        jdbcTemplate.batchUpdate(pilot.insertSql(), (List) rows, PILOT_BATCH_SIZE,
+                (ps, row) -> pilot.bind(row, ps));
+    }
+
+    // 임시 테이블에는 외래 키가 없으므로 부모 ID는 모두 1로 둔다
+    private List<Record> sample(String table, int rows) {
+        long seed = properties.getSeed();
+        IdPool parent = IdPool.of(new long[]{1}, 1);
+        IndexSampler sampler = IndexSampler.uniform(1);
+        LongFunction<Record> generator = switch (table) {
+            case "member" -> new MemberRowGenerator(seed)::process;
+            case "book" -> new BookRowGenerator(seed, textGenerators.getSummary())::process;
+            case "discussion" -> new DiscussionRowGenerator(seed, parent, sampler, parent, sampler,
+                    new String[]{new BookRowGenerator(seed, textGenerators.getSummary()).process(1L).title()},
+                    textGenerators.getDiscussion())::process;
+            case "comment" -> {
+                CommentRowGenerator comment = new CommentRowGenerator(seed, parent, sampler, textGenerators.getComment());
+                yield index -> comment.generate(index, 1);
+            }
+            case "reply" -> {
+                ReplyRowGenerator reply = new ReplyRowGenerator(seed, parent, sampler, textGenerators.getReply());
+                yield index -> reply.generate(index, 1);
+            }
+            default -> throw new IllegalArgumentException("알 수 없는 엔티티입니다: " + table);
+        };
+        List<Record> sample = new ArrayList<>(rows);
+        for (long index = 1; index <= rows; index++) {
+            sample.add(generator.apply(index));
+        }
+        return sample;
+    }
+
+    private void report(DataSize target, List<Estimate> estimates, Map<String, Long> counts) {
+        log.info("=== 목표 크기 {}MB 계획 ===", target.toMegabytes());
+        double total = 0;
+        for (Estimate estimate : estimates) {
+            long count = counts.get(estimate.table());
+            double bytes = count * estimate.bytesPerRow();
+            total += bytes;
+            log.info("  {}: 행당 추정 {}B, 측정 {}, {}건 → {}MB", estimate.table(),
+                    Math.round(estimate.estimatedBytesPerRow()),
+                    estimate.measuredBytesPerRow() > 0 ? Math.round(estimate.measuredBytesPerRow()) + "B" : "-",
+                    String.format("%,d", count), Math.round(bytes / (1024 * 1024)));
+        }
+        log.info("  합계 약 {}MB", Math.round(total / (1024 * 1024)));
+    }
+}
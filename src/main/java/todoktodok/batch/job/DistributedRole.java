@@ -0,0 +1,6 @@
+package todoktodok.batch.job;
+
+public enum DistributedRole {
+    MANAGER,
+    WORKER
+}
@@ -0,0 +1,67 @@
+package todoktodok.batch.job;
+
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.repeat.RepeatStatus;
+import todoktodok.batch.writer.CsvRowWriter;
+import todoktodok.batch.writer.RowTable;
+
+// 파티션 범위의 행을 생성해 gzip CSV 파일 하나로 쓴다. 행 번호를 id로 함께 기록하므로 복원하면 외래 키가 그대로 맞는다
+// 다 쓴 뒤에 .part 파일의 이름을 바꾸므로 중간에 실패한 파일은 복원 대상에 포함되지 않고, 재시작하면 처음부터 다시 쓴다
+@RequiredArgsConstructor
+public class DumpExportTasklet<T> implements Tasklet {
+
+    public static final String BYTES_KEY = "dump.bytes";
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final RowTable<T> table;
+    private final Function<StepExecution, ItemProcessor<Long, T>> generatorFactory;
+    private final Path directory;
+    private final long rowsPerFile;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        ExecutionContext context = stepExecution.getExecutionContext();
+        long minIndex = context.getLong(IndexRangePartitioner.MIN_INDEX);
+        long maxIndex = context.getLong(IndexRangePartitioner.MAX_INDEX);
+
+        Files.createDirectories(directory);
+        Path file = directory.resolve(DumpFilePartitioner.fileName(table.name(), (minIndex - 1) / rowsPerFile));
+        Path partFile = file.resolveSibling(file.getFileName() + ".part");
+
+        ItemProcessor<Long, T> generator = generatorFactory.apply(stepExecution);
+        String now = LocalDateTime.now().format(TIMESTAMP_FORMAT);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(partFile), GZIP_BUFFER_SIZE);
+             CsvRowWriter csv = new CsvRowWriter(Channels.newChannel(out))) {
+            for (long index = minIndex; index <= maxIndex; index++) {
+                csv.field(index);
+                table.encoder().encode(generator.process(index), csv);
+                csv.field(now);
+                csv.field(now);
+                csv.endRow();
+            }
+        }
+        Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        contribution.incrementWriteCount(maxIndex - minIndex + 1);
+        context.putLong(BYTES_KEY, Files.size(file));
+        return RepeatStatus.FINISHED;
+    }
+}
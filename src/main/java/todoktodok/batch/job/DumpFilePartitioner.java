@@ -0,0 +1,88 @@
+package todoktodok.batch.job;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+// 덤프 디렉터리에서 테이블의 목록 파일(<테이블>.manifest)에 적힌 파일을 찾아 파일 하나를 파티션 하나로 만든다
+// 목록은 내보내기가 모두 끝난 뒤에 쓰이므로(DumpManifestListener) 이전 내보내기의 파일이 섞이지 않는다
+@RequiredArgsConstructor
+public class DumpFilePartitioner implements Partitioner {
+
+    public static final String FILE = "file";
+
+    private static final String EXTENSION = ".csv.gz";
+    private static final String MANIFEST_EXTENSION = ".manifest";
+
+    private final Path directory;
+    private final String table;
+
+    public static String fileName(String table, long fileNumber) {
+        return String.format("%s-%05d%s", table, fileNumber, EXTENSION);
+    }
+
+    public static Path manifest(Path directory, String table) {
+        return directory.resolve(table + MANIFEST_EXTENSION);
+    }
+
+    // "member-00000.csv.gz"처럼 테이블 이름 뒤에 파일 번호만 오는 파일 (내보내는 중인 .part 파일은 제외)
+    public static List<Path> dumpFiles(Path directory, String table) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> isDumpOf(table, file.getFileName().toString()))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        List<Path> files = manifestFiles();
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        for (int partition = 0; partition < files.size(); partition++) {
+            ExecutionContext context = new ExecutionContext();
+            context.putString(FILE, files.get(partition).toAbsolutePath().toString());
+            partitions.put("partition" + partition, context);
+        }
+        return partitions;
+    }
+
+    private List<Path> manifestFiles() {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalStateException("덤프 디렉터리가 없습니다: " + directory.toAbsolutePath());
+        }
+        Path manifest = manifest(directory, table);
+        if (!Files.exists(manifest)) {
+            throw new IllegalStateException("덤프 목록 파일이 없습니다. 내보내기가 끝나지 않았거나 실패했습니다: "
+                    + manifest.toAbsolutePath());
+        }
+        try {
+            List<Path> files = Files.readAllLines(manifest).stream()
+                    .filter(line -> !line.isBlank())
+                    .map(directory::resolve)
+                    .toList();
+            for (Path file : files) {
+                if (!Files.exists(file)) {
+                    throw new IllegalStateException("목록에 있는 덤프 파일이 없습니다: " + file.toAbsolutePath());
+                }
+            }
+            return files;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isDumpOf(String table, String fileName) {
+        return fileName.startsWith(table + "-")
+                && fileName.endsWith(EXTENSION)
+                && fileName.substring(table.length() + 1, fileName.length() - EXTENSION.length()).chars()
+                .allMatch(Character::isDigit);
+    }
+}
@@ -0,0 +1,172 @@
+package todoktodok.batch.job;
+
+import java.nio.file.Path;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import todoktodok.batch.config.GenerationProperties;
+import todoktodok.batch.config.GenerationProperties.DistributionProperties;
+import todoktodok.batch.config.GenerationProperties.EntityProperties;
+import todoktodok.batch.generator.BookRowGenerator;
+import todoktodok.batch.generator.CommentRowGenerator;
+import todoktodok.batch.generator.DiscussionRowGenerator;
+import todoktodok.batch.generator.IdPool;
+import todoktodok.batch.generator.IdPoolCache;
+import todoktodok.batch.generator.IndexSampler;
+import todoktodok.batch.generator.MemberRowGenerator;
+import todoktodok.batch.generator.ReplyRowGenerator;
+import todoktodok.batch.generator.TextGenerators;
+import todoktodok.batch.writer.BulkLoader;
+import todoktodok.batch.writer.RowTable;
+import todoktodok.batch.writer.RowTables;
+
+// 한 번 생성한 데이터셋을 gzip CSV 덤프로 내보내고, 여러 환경에서 파일 단위로 병렬 복원한다
+@Lazy
+@Configuration
+@RequiredArgsConstructor
+public class DumpJobConfig {
+
+    private final GenerationProperties properties;
+    private final IdPoolCache idPoolCache;
+    private final TextGenerators textGenerators;
+    private final BulkLoader bulkLoader;
+    private final TaskExecutor generationTaskExecutor;
+
+    // DB에 쓰지 않고 덤프 파일만 만든다 (부모 ID는 1..count로 가정)
+    @Bean
+    public Job dataExportJob(JobRepository jobRepository) {
+        BookRowGenerator bookGenerator = new BookRowGenerator(properties.getSeed(), textGenerators.getSummary());
+        MemberRowGenerator memberGenerator = new MemberRowGenerator(properties.getSeed());
+
+        return new JobBuilder("dataExportJob", jobRepository)
+                .start(exportStep("memberExportStep", jobRepository, RowTables.MEMBER, properties.getMember(),
+                        stepExecution -> memberGenerator))
+                .next(exportStep("bookExportStep", jobRepository, RowTables.BOOK, properties.getBook(),
+                        stepExecution -> bookGenerator))
+                .next(exportStep("discussionExportStep", jobRepository, RowTables.DISCUSSION,
+                        properties.getDiscussion(), this::discussionGenerator))
+                .next(exportStep("commentExportStep", jobRepository, RowTables.COMMENT, properties.getComment(),
+                        this::commentGenerator))
+                .next(exportStep("replyExportStep", jobRepository, RowTables.REPLY, properties.getReply(),
+                        this::replyGenerator))
+                .build();
+    }
+
+    // 비어 있는 테이블에 부모부터 순서대로 적재한다 (같은 테이블의 파일들은 병렬로 적재)
+    @Bean
+    public Job dataRestoreJob(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+        return new JobBuilder("dataRestoreJob", jobRepository)
+                .start(restoreStep("memberRestoreStep", jobRepository, transactionManager, RowTables.MEMBER))
+                .next(restoreStep("bookRestoreStep", jobRepository, transactionManager, RowTables.BOOK))
+                .next(restoreStep("discussionRestoreStep", jobRepository, transactionManager, RowTables.DISCUSSION))
+                .next(restoreStep("commentRestoreStep", jobRepository, transactionManager, RowTables.COMMENT))
+                .next(restoreStep("replyRestoreStep", jobRepository, transactionManager, RowTables.REPLY))
+                .next(new StepBuilder("restoreIdentityStep", jobRepository)
+                        .tasklet((contribution, chunkContext) -> {
+                            for (RowTable<?> table : RowTables.ALL) {
+                                bulkLoader.restartIdentity(table.name());
+                            }
+                            return RepeatStatus.FINISHED;
+                        }, transactionManager)
+                        .build())
+                .build();
+    }
+
+    // 파일 하나(rows-per-file 행)가 파티션 하나이고, grid-size개 파일을 동시에 쓴다
+    private <T> Step exportStep(String name, JobRepository jobRepository, RowTable<T> table, EntityProperties entity,
+                                Function<StepExecution, ItemProcessor<Long, T>> generatorFactory) {
+        long rowsPerFile = properties.getDump().getRowsPerFile();
+        Step workerStep = new StepBuilder(name.replace("Step", "WorkerStep"), jobRepository)
+                .tasklet(new DumpExportTasklet<>(table, generatorFactory, dumpDirectory(), rowsPerFile),
+                        new ResourcelessTransactionManager())
+                .listener(new PartitionThroughputListener())
+                .build();
+
+        return new StepBuilder(name, jobRepository)
+                .partitioner(workerStep.getName(), new IndexRangePartitioner(entity.getCount(), rowsPerFile))
+                .step(workerStep)
+                .gridSize(properties.getGridSize())
+                .taskExecutor(generationTaskExecutor)
+                .listener(new PartitionThroughputListener())
+                .listener(new DumpManifestListener(dumpDirectory(), table.name(), entity.getCount(), rowsPerFile))
+                .build();
+    }
+
+    private Step restoreStep(String name, JobRepository jobRepository, PlatformTransactionManager transactionManager,
+                             RowTable<?> table) {
+        Step workerStep = new StepBuilder(name.replace("Step", "WorkerStep"), jobRepository)
+                .tasklet(new DumpRestoreTasklet(table, table.name(), bulkLoader,
+                        Path.of(properties.getBulkLoad().getDirectory())), transactionManager)
+                .listener(new PartitionThroughputListener())
+                .build();
+
+        return new StepBuilder(name, jobRepository)
+                .partitioner(workerStep.getName(), new DumpFilePartitioner(dumpDirectory(), table.name()))
+                .step(workerStep)
+                .gridSize(properties.getGridSize())
+                .taskExecutor(generationTaskExecutor)
+                .listener(new PartitionThroughputListener())
+                .build();
+    }
+
+    private DiscussionRowGenerator discussionGenerator(StepExecution stepExecution) {
+        BookRowGenerator bookGenerator = new BookRowGenerator(properties.getSeed(), textGenerators.getSummary());
+        return new DiscussionRowGenerator(
+                properties.getSeed(),
+                parentIds(stepExecution, "member", properties.getMember()),
+                sampler(stepExecution, properties.getDiscussion(), "member", properties.getMember()),
+                parentIds(stepExecution, "book", properties.getBook()),
+                sampler(stepExecution, properties.getDiscussion(), "book", properties.getBook()),
+                idPoolCache.column(stepExecution, "book", "title", properties.getBook().getCount(),
+                        index -> bookGenerator.process(index).title()),
+                textGenerators.getDiscussion());
+    }
+
+    private CommentRowGenerator commentGenerator(StepExecution stepExecution) {
+        return new CommentRowGenerator(
+                properties.getSeed(),
+                parentIds(stepExecution, "member", properties.getMember()),
+                sampler(stepExecution, properties.getComment(), "member", properties.getMember()),
+                parentIds(stepExecution, "discussion", properties.getDiscussion()),
+                sampler(stepExecution, properties.getComment(), "discussion", properties.getDiscussion()),
+                textGenerators.getComment());
+    }
+
+    private ReplyRowGenerator replyGenerator(StepExecution stepExecution) {
+        return new ReplyRowGenerator(
+                properties.getSeed(),
+                parentIds(stepExecution, "member", properties.getMember()),
+                sampler(stepExecution, properties.getReply(), "member", properties.getMember()),
+                parentIds(stepExecution, "comment", properties.getComment()),
+                sampler(stepExecution, properties.getReply(), "comment", properties.getComment()),
+                textGenerators.getReply());
+    }
+
+    private IdPool parentIds(StepExecution stepExecution, String parentTable, EntityProperties parent) {
+        return idPoolCache.sequence(stepExecution, parentTable, parent.getCount());
+    }
+
+    private IndexSampler sampler(StepExecution stepExecution, EntityProperties entity, String parentTable,
+                                 EntityProperties parent) {
+        DistributionProperties distribution = entity.distribution(parentTable);
+        return idPoolCache.sampler(stepExecution, parentTable, Math.toIntExact(parent.getCount()),
+                distribution.getType(), distribution.getExponent());
+    }
+
+    private Path dumpDirectory() {
+        return Path.of(properties.getDump().getDirectory());
+    }
+}
@@ -0,0 +1,64 @@
+package todoktodok.batch.job;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.LongStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+
+// 내보내기 단계가 시작할 때 테이블의 목록 파일을 지우고, 모든 파일을 쓴 뒤에 이번 내보내기의 파일 목록을 쓴다
+// 복원은 목록에 있는 파일만 읽으므로, 더 큰 count로 내보냈던 이전 덤프의 번호가 큰 파일이나 중간에 실패한 내보내기는 복원되지 않는다
+@Slf4j
+@RequiredArgsConstructor
+public class DumpManifestListener implements StepExecutionListener {
+
+    private final Path directory;
+    private final String table;
+    private final long count;
+    private final long rowsPerFile;
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        try {
+            Files.deleteIfExists(DumpFilePartitioner.manifest(directory, table));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            return stepExecution.getExitStatus();
+        }
+        long fileCount = (count + rowsPerFile - 1) / rowsPerFile;
+        List<String> files = LongStream.range(0, fileCount)
+                .mapToObj(fileNumber -> DumpFilePartitioner.fileName(table, fileNumber))
+                .toList();
+        try {
+            Files.createDirectories(directory);
+            // 이전 내보내기가 남긴 번호가 큰 파일은 목록에 없으므로 지워 둔다
+            for (Path stale : DumpFilePartitioner.dumpFiles(directory, table)) {
+                if (!files.contains(stale.getFileName().toString())) {
+                    log.info("[{}] 이전 덤프 파일 삭제: {}", stepExecution.getStepName(), stale.getFileName());
+                    Files.delete(stale);
+                }
+            }
+            Path manifest = DumpFilePartitioner.manifest(directory, table);
+            Path partFile = manifest.resolveSibling(manifest.getFileName() + ".part");
+            Files.write(partFile, files);
+            Files.move(partFile, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return stepExecution.getExitStatus();
+    }
+}
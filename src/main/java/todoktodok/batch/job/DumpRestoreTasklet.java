@@ -0,0 +1,46 @@
+package todoktodok.batch.job;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import todoktodok.batch.writer.BulkLoader;
+import todoktodok.batch.writer.RowTable;
+
+// 덤프 파일 하나를 임시 CSV로 풀어 대량 적재한다. 파일 하나가 한 트랜잭션이므로 실패한 파일만 재시작 시 다시 적재된다
+// targetTable은 보통 table.name()이고, resetDataJob의 shadow 모드에서는 새 테이블 이름이다
+@RequiredArgsConstructor
+public class DumpRestoreTasklet implements Tasklet {
+
+    private final RowTable<?> table;
+    private final String targetTable;
+    private final BulkLoader bulkLoader;
+    private final Path tempDirectory;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        Path dumpFile = Path.of(chunkContext.getStepContext().getStepExecution().getExecutionContext()
+                .getString(DumpFilePartitioner.FILE));
+
+        // LOAD DATA와 CSVREAD 모두 gzip을 직접 읽지 못하므로 파일 하나 크기만큼만 풀어 둔다
+        Path csvFile = Files.createTempFile(tempDirectory, table.name() + "-", ".csv");
+        try {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(dumpFile))) {
+                Files.copy(in, csvFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            List<String> columns = Stream.concat(Stream.of("id"), table.columnsWithAudit().stream()).toList();
+            contribution.incrementWriteCount(bulkLoader.load(targetTable, columns, csvFile));
+        } finally {
+            Files.deleteIfExists(csvFile);
+        }
+        return RepeatStatus.FINISHED;
+    }
+}
@@ -0,0 +1,8 @@
+package todoktodok.batch.job;
+
+public enum ExecutionMode {
+    // 청크 단위로 생성과 쓰기를 번갈아 실행
+    CHUNK,
+    // 생성 스레드와 쓰기 스레드를 제한된 큐로 연결해 동시에 실행
+    PIPELINED
+}
@@ -0,0 +1,49 @@
+package todoktodok.batch.job;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+// firstIndex부터 count개의 행 번호(기본 1..count)를 gridSize개(또는 rangeSize 크기)의 연속 구간으로 나눈다
+public class IndexRangePartitioner implements Partitioner {
+
+    public static final String MIN_INDEX = "minIndex";
+    public static final String MAX_INDEX = "maxIndex";
+
+    private final long firstIndex;
+    private final long count;
+    private final long rangeSize;
+
+    public IndexRangePartitioner(long count) {
+        this(count, 0);
+    }
+
+    // rangeSize를 지정하면 gridSize와 관계없이 구간 크기가 고정된다 (gridSize는 동시 실행 수로만 쓰인다)
+    public IndexRangePartitioner(long count, long rangeSize) {
+        this(1, count, rangeSize);
+    }
+
+    public IndexRangePartitioner(long firstIndex, long count, long rangeSize) {
+        this.firstIndex = firstIndex;
+        this.count = count;
+        this.rangeSize = rangeSize;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        long size = rangeSize > 0 ? rangeSize : (count + gridSize - 1) / gridSize;
+
+        for (int partition = 0; partition * size < count; partition++) {
+            long minIndex = firstIndex + partition * size;
+            long maxIndex = Math.min(firstIndex + count - 1, minIndex + size - 1);
+
+            ExecutionContext context = new ExecutionContext();
+            context.putLong(MIN_INDEX, minIndex);
+            context.putLong(MAX_INDEX, maxIndex);
+            partitions.put("partition" + partition, context);
+        }
+        return partitions;
+    }
+}
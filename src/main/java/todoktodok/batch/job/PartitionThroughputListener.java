@@ -0,0 +1,135 @@
+package todoktodok.batch.job;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import todoktodok.batch.writer.BulkLoadItemWriter;
+import todoktodok.batch.writer.DiscussionTreeWriter;
+
+// 워커 스텝은 자기 파티션의 처리량을, 매니저 스텝은 파티션별 처리량 요약을 출력한다
+@Slf4j
+public class PartitionThroughputListener implements StepExecutionListener {
+
+    // 목표 크기 계획(size-target)이 있을 때 엔티티의 행당 디스크 크기, 0이면 바이트 진행량을 출력하지 않는다
+    private final double bytesPerRow;
+
+    public PartitionThroughputListener() {
+        this(0);
+    }
+
+    public PartitionThroughputListener(double bytesPerRow) {
+        this.bytesPerRow = bytesPerRow;
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (isPartition(stepExecution)) {
+            log.info("[{}] {}", stepExecution.getStepName(), summary(stepExecution));
+            return stepExecution.getExitStatus();
+        }
+
+        partitionsOf(stepExecution)
+                .sorted(Comparator.comparing(StepExecution::getStepName))
+                .forEach(partition -> log.info("  - {}: {}", partition.getStepName(), summary(partition)));
+        log.info("[{}] 전체 {}", stepExecution.getStepName(), summary(stepExecution));
+        return stepExecution.getExitStatus();
+    }
+
+    private String summary(StepExecution stepExecution) {
+        LocalDateTime endTime = stepExecution.getEndTime() != null ? stepExecution.getEndTime() : LocalDateTime.now();
+        long elapsedMillis = Math.max(1, Duration.between(stepExecution.getStartTime(), endTime).toMillis());
+        long writeCount = stepExecution.getWriteCount();
+        String summary = String.format("%,d건, 소요 %,dms, 처리량 %,d건/s", writeCount, elapsedMillis, writeCount * 1000 / elapsedMillis);
+
+        if (bytesPerRow > 0) {
+            double megabytes = writeCount * bytesPerRow / (1024 * 1024);
+            summary += String.format(", 약 %,.0fMB (%,.1fMB/s)", megabytes, megabytes * 1000 / elapsedMillis);
+        }
+
+        long bulkLoadBytes = sum(stepExecution, BulkLoadItemWriter.BYTES_KEY);
+        if (bulkLoadBytes > 0) {
+            summary += String.format(", CSV %,dKB, 적재 %,dms", bulkLoadBytes / 1024,
+                    sum(stepExecution, BulkLoadItemWriter.LOAD_MILLIS_KEY));
+        }
+
+        long dumpBytes = sum(stepExecution, DumpExportTasklet.BYTES_KEY);
+        if (dumpBytes > 0) {
+            summary += String.format(", 덤프 %,dKB", dumpBytes / 1024);
+        }
+
+        if (has(stepExecution, DiscussionTreeWriter.COMMENTS_KEY)) {
+            summary += String.format(", 댓글 %,d건, 답글 %,d건", sum(stepExecution, DiscussionTreeWriter.COMMENTS_KEY),
+                    sum(stepExecution, DiscussionTreeWriter.REPLIES_KEY));
+        }
+
+        if (has(stepExecution, AdaptiveChunkSizePolicy.BATCH_SIZE_KEY)) {
+            summary += isPartition(stepExecution)
+                    ? String.format(", 배치 크기 %,d", max(stepExecution, AdaptiveChunkSizePolicy.BATCH_SIZE_KEY))
+                    : String.format(", 배치 크기 %,d~%,d", min(stepExecution, AdaptiveChunkSizePolicy.BATCH_SIZE_KEY),
+                            max(stepExecution, AdaptiveChunkSizePolicy.BATCH_SIZE_KEY));
+            summary += String.format(" (지연 상한 초과 %,d회)",
+                    sum(stepExecution, AdaptiveChunkSizePolicy.CEILING_BREACHES_KEY));
+        }
+
+        if (has(stepExecution, PipelinedGenerationTasklet.MAX_QUEUE_DEPTH_KEY)) {
+            summary += String.format(", 큐 최대 %d, 생성 대기 %,dms, 쓰기 대기 %,dms",
+                    max(stepExecution, PipelinedGenerationTasklet.MAX_QUEUE_DEPTH_KEY),
+                    sum(stepExecution, PipelinedGenerationTasklet.PRODUCER_STALL_MILLIS_KEY),
+                    sum(stepExecution, PipelinedGenerationTasklet.WRITER_IDLE_MILLIS_KEY));
+        }
+        return summary;
+    }
+
+    private boolean has(StepExecution stepExecution, String key) {
+        if (isPartition(stepExecution)) {
+            return stepExecution.getExecutionContext().containsKey(key);
+        }
+        return partitionsOf(stepExecution).anyMatch(partition -> partition.getExecutionContext().containsKey(key));
+    }
+
+    private long min(StepExecution stepExecution, String key) {
+        if (isPartition(stepExecution)) {
+            return stepExecution.getExecutionContext().getLong(key, 0);
+        }
+        return partitionsOf(stepExecution)
+                .filter(partition -> partition.getExecutionContext().containsKey(key))
+                .mapToLong(partition -> partition.getExecutionContext().getLong(key))
+                .min()
+                .orElse(0);
+    }
+
+    private long max(StepExecution stepExecution, String key) {
+        if (isPartition(stepExecution)) {
+            return stepExecution.getExecutionContext().getLong(key, 0);
+        }
+        return partitionsOf(stepExecution)
+                .mapToLong(partition -> partition.getExecutionContext().getLong(key, 0))
+                .max()
+                .orElse(0);
+    }
+
+    // 매니저 스텝은 자기 ExecutionContext에 값이 없으므로 같은 단계의 파티션 값을 합산한다
+    private long sum(StepExecution stepExecution, String key) {
+        if (isPartition(stepExecution)) {
+            return stepExecution.getExecutionContext().getLong(key, 0);
+        }
+        return partitionsOf(stepExecution)
+                .mapToLong(partition -> partition.getExecutionContext().getLong(key, 0))
+                .sum();
+    }
+
+    private boolean isPartition(StepExecution stepExecution) {
+        return stepExecution.getStepName().contains(":");
+    }
+
+    private Stream<StepExecution> partitionsOf(StepExecution managerStepExecution) {
+        String partitionPrefix = managerStepExecution.getStepName().replace("Step", "WorkerStep") + ":";
+        return managerStepExecution.getJobExecution().getStepExecutions().stream()
+                .filter(partition -> partition.getStepName().startsWith(partitionPrefix));
+    }
+}
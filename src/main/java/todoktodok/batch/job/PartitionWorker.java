@@ -0,0 +1,165 @@
+package todoktodok.batch.job;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import todoktodok.batch.config.GenerationProperties;
+import todoktodok.batch.config.GenerationProperties.DistributedProperties;
+
+// RepositoryPartitionHandler가 저장한 STARTING 파티션을 가져와 이 프로세스에서 실행한다
+// 가져가기는 STATUS 조건부 UPDATE 한 번이라 여러 프로세스가 동시에 조회해도 한 파티션은 한 워커만 실행한다
+// 실행하는 동안 heartbeat-interval마다 LAST_UPDATED를 갱신해 매니저가 살아 있는 워커와 죽은 워커를 구분하게 한다
+@Slf4j
+@Component
+public class PartitionWorker {
+
+    private static final String CANDIDATES_SQL = "SELECT STEP_EXECUTION_ID, JOB_EXECUTION_ID, STEP_NAME "
+            + "FROM BATCH_STEP_EXECUTION WHERE STATUS = 'STARTING' ORDER BY STEP_EXECUTION_ID";
+    private static final String CLAIM_SQL = "UPDATE BATCH_STEP_EXECUTION "
+            + "SET STATUS = 'STARTED', VERSION = VERSION + 1, LAST_UPDATED = ? "
+            + "WHERE STEP_EXECUTION_ID = ? AND STATUS = 'STARTING'";
+    // VERSION은 올리지 않으므로 스텝이 자기 상태를 갱신하는 것과 충돌하지 않는다
+    private static final String HEARTBEAT_SQL = "UPDATE BATCH_STEP_EXECUTION SET LAST_UPDATED = ? "
+            + "WHERE STEP_EXECUTION_ID = ? AND STATUS = 'STARTED'";
+
+    private final JobExplorer jobExplorer;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationContext applicationContext;
+    private final GenerationProperties properties;
+    private final List<Thread> threads = new ArrayList<>();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("partition-heartbeat").daemon().factory());
+    private volatile boolean running;
+
+    public PartitionWorker(JobExplorer jobExplorer, DataSource dataSource, ApplicationContext applicationContext,
+                           GenerationProperties properties) {
+        this.jobExplorer = jobExplorer;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.applicationContext = applicationContext;
+        this.properties = properties;
+    }
+
+    // 매니저 프로세스: Job을 실행하는 동안 함께 파티션을 처리한다
+    public synchronized void start() {
+        startThreads(false);
+    }
+
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        joinThreads();
+    }
+
+    // 워커 프로세스: idle-timeout 동안 가져갈 파티션이 없으면 종료한다
+    public void runUntilIdle() throws InterruptedException {
+        synchronized (this) {
+            startThreads(true);
+        }
+        joinThreads();
+        running = false;
+    }
+
+    private void startThreads(boolean stopWhenIdle) {
+        running = true;
+        for (int i = 0; i < properties.getGridSize(); i++) {
+            threads.add(Thread.ofPlatform()
+                    .name("partition-worker-" + i)
+                    .start(() -> work(stopWhenIdle)));
+        }
+        log.info("파티션 워커 {}개를 시작합니다.", threads.size());
+    }
+
+    private void joinThreads() throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        threads.clear();
+    }
+
+    private void work(boolean stopWhenIdle) {
+        DistributedProperties distributed = properties.getDistributed();
+        long idleSince = System.nanoTime();
+        while (running) {
+            try {
+                StepExecution claimed = claim();
+                if (claimed != null) {
+                    execute(claimed);
+                    idleSince = System.nanoTime();
+                    continue;
+                }
+                if (stopWhenIdle && System.nanoTime() - idleSince > distributed.getIdleTimeout().toNanos()) {
+                    return;
+                }
+                Thread.sleep(distributed.getPollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("파티션 조회 실패, 다음 주기에 다시 시도합니다: {}", e.getMessage());
+            }
+        }
+    }
+
+    private StepExecution claim() {
+        for (Map<String, Object> candidate : jdbcTemplate.queryForList(CANDIDATES_SQL)) {
+            String stepName = (String) candidate.get("STEP_NAME");
+            if (!stepName.contains(":") || !applicationContext.containsBean(workerStepName(stepName))) {
+                continue;
+            }
+            long stepExecutionId = ((Number) candidate.get("STEP_EXECUTION_ID")).longValue();
+            long jobExecutionId = ((Number) candidate.get("JOB_EXECUTION_ID")).longValue();
+            StepExecution stepExecution = jobExplorer.getStepExecution(jobExecutionId, stepExecutionId);
+            if (stepExecution == null
+                    || !stepExecution.getExecutionContext().containsKey(RepositoryPartitionHandler.DISTRIBUTED_KEY)) {
+                continue;
+            }
+            if (jdbcTemplate.update(CLAIM_SQL, Timestamp.valueOf(LocalDateTime.now()), stepExecutionId) == 1) {
+                // VERSION이 올라갔으므로 다시 읽어야 스텝이 상태를 갱신할 수 있다
+                return jobExplorer.getStepExecution(jobExecutionId, stepExecutionId);
+            }
+        }
+        return null;
+    }
+
+    private void execute(StepExecution stepExecution) {
+        Step step = applicationContext.getBean(workerStepName(stepExecution.getStepName()), Step.class);
+        log.info("파티션 실행: {} (id={})", stepExecution.getStepName(), stepExecution.getId());
+        long interval = properties.getDistributed().getHeartbeatInterval().toMillis();
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleAtFixedRate(() -> heartbeat(stepExecution), interval,
+                interval, TimeUnit.MILLISECONDS);
+        try {
+            step.execute(stepExecution);
+        } catch (Exception e) {
+            log.error("파티션 실행 실패: {}", stepExecution.getStepName(), e);
+        } finally {
+            heartbeat.cancel(false);
+        }
+    }
+
+    // 예외가 나가면 이후 갱신이 모두 취소되므로 다음 주기에 다시 시도한다
+    private void heartbeat(StepExecution stepExecution) {
+        try {
+            jdbcTemplate.update(HEARTBEAT_SQL, Timestamp.valueOf(LocalDateTime.now()), stepExecution.getId());
+        } catch (RuntimeException e) {
+            log.warn("파티션 갱신 실패: {} ({})", stepExecution.getStepName(), e.getMessage());
+        }
+    }
+
+    // 파티션 스텝 이름은 "워커 스텝 이름:partitionN"
+    private String workerStepName(String partitionStepName) {
+        return partitionStepName.substring(0, partitionStepName.indexOf(':'));
+    }
+}
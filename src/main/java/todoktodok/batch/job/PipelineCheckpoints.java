@@ -0,0 +1,59 @@
+package todoktodok.batch.job;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import javax.sql.DataSource;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// pipelined 모드에서 커밋된 배치의 행 번호 구간을 pipeline_checkpoint 테이블에 배치마다 한 행씩 남긴다
+// 배치를 쓴 트랜잭션 안에서 INSERT하므로 배치와 기록이 함께 커밋되거나 롤백되고, 작업자마다 다른 행을 쓰므로 서로 기다리지 않는다
+// 재시작해도 같은 JobInstance와 스텝 이름으로 찾으므로 이전 실행의 기록을 읽는다
+public class PipelineCheckpoints {
+
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS pipeline_checkpoint ("
+            + "owner VARCHAR(200) NOT NULL, from_index BIGINT NOT NULL, to_index BIGINT NOT NULL, "
+            + "PRIMARY KEY (owner, from_index))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean initialized;
+
+    public PipelineCheckpoints(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    // 파티션 스텝 이름은 JobInstance 안에서 겹치지 않는다
+    public static String owner(StepExecution stepExecution) {
+        return stepExecution.getJobExecution().getJobInstance().getInstanceId() + ":" + stepExecution.getStepName();
+    }
+
+    // fromIndex 앞의 구간은 ExecutionContext의 진행 위치에 이미 반영됐으므로 지우고, 나머지를 시작 번호 순으로 돌려준다
+    public NavigableMap<Long, Long> committed(String owner, long fromIndex) {
+        initialize();
+        jdbcTemplate.update("DELETE FROM pipeline_checkpoint WHERE owner = ? AND to_index < ?", owner, fromIndex);
+        NavigableMap<Long, Long> committed = new TreeMap<>();
+        jdbcTemplate.query("SELECT from_index, to_index FROM pipeline_checkpoint WHERE owner = ?",
+                rs -> {
+                    committed.put(rs.getLong("from_index"), rs.getLong("to_index"));
+                }, owner);
+        return committed;
+    }
+
+    // 호출한 스레드의 트랜잭션에 참여한다
+    public void record(String owner, long fromIndex, long toIndex) {
+        jdbcTemplate.update("INSERT INTO pipeline_checkpoint (owner, from_index, to_index) VALUES (?, ?, ?)",
+                owner, fromIndex, toIndex);
+    }
+
+    private void initialize() {
+        if (initialized) {
+            return;
+        }
+        synchronized (this) {
+            if (!initialized) {
+                jdbcTemplate.execute(CREATE_TABLE_SQL);
+                initialized = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package todoktodok.batch.job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import todoktodok.batch.config.GenerationProperties.AdaptiveBatchProperties;
+import todoktodok.batch.config.GenerationProperties.PipelineProperties;
+import todoktodok.batch.metrics.GenerationMetrics;
+import todoktodok.batch.support.AdaptiveBatchSizer;
+
+// 생성 스레드가 고정 크기 배치를 제한된 큐에 채우고, 가상 스레드 쓰기 작업자들이 각자 트랜잭션(커넥션)으로 동시에 비운다
+// 파티션 범위를 segment-size 단위로 처리하고, 세그먼트가 끝날 때마다 다음 위치를 ExecutionContext에 저장한다
+// 세그먼트 안에서는 배치마다 커밋된 구간을 같은 트랜잭션으로 PipelineCheckpoints에 남기므로, 중간에 실패해도 재시작하면 그 배치를 건너뛴다
+@Slf4j
+@RequiredArgsConstructor
+public class PipelinedGenerationTasklet<T> implements Tasklet {
+
+    public static final String NEXT_INDEX_KEY = "pipeline.nextIndex";
+    public static final String PRODUCER_STALL_MILLIS_KEY = "pipeline.producerStallMillis";
+    public static final String WRITER_IDLE_MILLIS_KEY = "pipeline.writerIdleMillis";
+    public static final String MAX_QUEUE_DEPTH_KEY = "pipeline.maxQueueDepth";
+
+    private static final long POLL_MILLIS = 100;
+
+    private final Function<StepExecution, ItemProcessor<Long, T>> generatorFactory;
+    private final ItemWriter<T> writer;
+    private final TransactionTemplate transactionTemplate;
+    private final PipelineCheckpoints checkpoints;
+    private final PipelineProperties pipeline;
+    private final int batchSize;
+    private final AdaptiveBatchProperties adaptive;
+    private final GenerationMetrics metrics;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        ExecutionContext context = stepExecution.getExecutionContext();
+        long maxIndex = context.getLong(IndexRangePartitioner.MAX_INDEX);
+        long fromIndex = context.getLong(NEXT_INDEX_KEY, context.getLong(IndexRangePartitioner.MIN_INDEX));
+        long toIndex = Math.min(maxIndex, fromIndex + pipeline.getSegmentSize() - 1);
+
+        // adaptive-batch가 켜져 있으면 지난 세그먼트가 고른 크기부터 이어간다
+        AdaptiveBatchSizer sizer = adaptive.sizer(
+                (int) context.getLong(AdaptiveChunkSizePolicy.BATCH_SIZE_KEY, batchSize));
+        String owner = PipelineCheckpoints.owner(stepExecution);
+        Segment segment = new Segment(generatorFactory.apply(stepExecution), sizer, owner,
+                checkpoints.committed(owner, fromIndex));
+        segment.run(fromIndex, toIndex);
+
+        contribution.incrementWriteCount(segment.written.sum());
+        context.putLong(NEXT_INDEX_KEY, toIndex + 1);
+        context.putLong(PRODUCER_STALL_MILLIS_KEY,
+                context.getLong(PRODUCER_STALL_MILLIS_KEY, 0) + segment.producerStallNanos.sum() / 1_000_000);
+        context.putLong(WRITER_IDLE_MILLIS_KEY,
+                context.getLong(WRITER_IDLE_MILLIS_KEY, 0) + segment.writerIdleNanos.sum() / 1_000_000);
+        context.putLong(MAX_QUEUE_DEPTH_KEY,
+                Math.max(context.getLong(MAX_QUEUE_DEPTH_KEY, 0), segment.maxQueueDepth.get()));
+        if (adaptive.isEnabled()) {
+            context.putLong(AdaptiveChunkSizePolicy.BATCH_SIZE_KEY, sizer.size());
+            context.putLong(AdaptiveChunkSizePolicy.CEILING_BREACHES_KEY,
+                    context.getLong(AdaptiveChunkSizePolicy.CEILING_BREACHES_KEY, 0) + sizer.ceilingBreaches());
+        }
+
+        log.debug("[{}] {}~{} 저장 완료 (큐 최대 {}, 생성 대기 {}ms, 쓰기 대기 {}ms)", stepExecution.getStepName(),
+                fromIndex, toIndex, segment.maxQueueDepth.get(), segment.producerStallNanos.sum() / 1_000_000,
+                segment.writerIdleNanos.sum() / 1_000_000);
+        return toIndex >= maxIndex ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+
+    // 행 번호 fromIndex..toIndex를 생성한 배치
+    private record Batch<T>(long fromIndex, long toIndex, List<T> rows) {
+    }
+
+    private class Segment {
+
+        private final Batch<T> endOfStream = new Batch<>(0, -1, List.of());
+        private final BlockingQueue<Batch<T>> queue = new ArrayBlockingQueue<>(pipeline.getQueueCapacity());
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+        private final LongAdder written = new LongAdder();
+        private final LongAdder producerStallNanos = new LongAdder();
+        private final LongAdder writerIdleNanos = new LongAdder();
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+        private final ItemProcessor<Long, T> generator;
+        private final AdaptiveBatchSizer sizer;
+        private final String owner;
+        // 재시작이면 이전 실행이 이 세그먼트에서 커밋한 구간 (생성 스레드가 건너뛴다)
+        private final NavigableMap<Long, Long> resumed;
+
+        private Segment(ItemProcessor<Long, T> generator, AdaptiveBatchSizer sizer, String owner,
+                        NavigableMap<Long, Long> resumed) {
+            this.generator = generator;
+            this.sizer = sizer;
+            this.owner = owner;
+            this.resumed = resumed;
+        }
+
+        private void run(long fromIndex, long toIndex) throws Exception {
+            try (ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < pipeline.getWriters(); i++) {
+                    writers.submit(this::drain);
+                }
+
+                try (ExecutorService producers = Executors.newFixedThreadPool(pipeline.getProducers())) {
+                    long rangeSize = (toIndex - fromIndex + pipeline.getProducers()) / pipeline.getProducers();
+                    for (long start = fromIndex; start <= toIndex; start += rangeSize) {
+                        long end = Math.min(toIndex, start + rangeSize - 1);
+                        long producerFrom = start;
+                        producers.submit(() -> produce(producerFrom, end));
+                    }
+                }
+
+                for (int i = 0; i < pipeline.getWriters(); i++) {
+                    put(endOfStream);
+                }
+            }
+
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+        }
+
+        // 이전 실행이 커밋한 구간은 건너뛰고, 배치는 항상 연속된 행 번호로 만든다
+        private void produce(long fromIndex, long toIndex) {
+            try {
+                // 배치를 새로 시작할 때마다 그때의 크기를 따른다 (adaptive-batch가 꺼져 있으면 항상 chunk-size)
+                int size = sizer.size();
+                List<T> batch = new ArrayList<>(size);
+                long batchFrom = fromIndex;
+                long batchStartedAt = System.nanoTime();
+                for (long index = fromIndex; index <= toIndex && failure.get() == null; index++) {
+                    // 재시작하면 생성 스레드의 범위가 이전 실행과 달라질 수 있으므로, index를 포함하는 구간이면 시작점이 아니어도 건너뛴다
+                    Map.Entry<Long, Long> committed = resumed.floorEntry(index);
+                    if (committed != null && committed.getValue() >= index) {
+                        long committedTo = committed.getValue();
+                        if (!batch.isEmpty()) {
+                            metrics.generated(System.nanoTime() - batchStartedAt);
+                            put(new Batch<>(batchFrom, index - 1, batch));
+                            size = sizer.size();
+                            batch = new ArrayList<>(size);
+                        }
+                        index = committedTo;
+                        batchFrom = committedTo + 1;
+                        batchStartedAt = System.nanoTime();
+                        continue;
+                    }
+                    batch.add(generator.process(index));
+                    if (batch.size() >= size) {
+                        metrics.generated(System.nanoTime() - batchStartedAt);
+                        put(new Batch<>(batchFrom, index, batch));
+                        size = sizer.size();
+                        batch = new ArrayList<>(size);
+                        batchFrom = index + 1;
+                        batchStartedAt = System.nanoTime();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    metrics.generated(System.nanoTime() - batchStartedAt);
+                    put(new Batch<>(batchFrom, batchFrom + batch.size() - 1, batch));
+                }
+            } catch (Exception e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+
+        // 큐가 가득 차면 생성 스레드가 기다린다(백프레셔). 쓰기 작업자가 실패하면 기다리지 않고 빠져나온다
+        private void put(Batch<T> batch) throws InterruptedException {
+            long startedAt = System.nanoTime();
+            while (failure.get() == null) {
+                if (queue.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+                    break;
+                }
+            }
+            producerStallNanos.add(System.nanoTime() - startedAt);
+        }
+
+        private void drain() {
+            try {
+                while (failure.get() == null) {
+                    long startedAt = System.nanoTime();
+                    Batch<T> batch = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    writerIdleNanos.add(System.nanoTime() - startedAt);
+                    if (batch == endOfStream) {
+                        return;
+                    }
+                    if (batch != null) {
+                        long writeStartedAt = System.nanoTime();
+                        transactionTemplate.executeWithoutResult(status -> {
+                            write(batch.rows());
+                            checkpoints.record(owner, batch.fromIndex(), batch.toIndex());
+                        });
+                        long writeNanos = System.nanoTime() - writeStartedAt;
+                        metrics.written(batch.rows().size(), writeNanos);
+                        sizer.record(batch.rows().size(), writeNanos);
+                        written.add(batch.rows().size());
+                    }
+                }
+            } catch (Exception e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+
+        private void write(List<T> batch) {
+            try {
+                writer.write(new Chunk<>(batch));
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package todoktodok.batch.job;
+
+// 백엔드의 대표 조회 패턴. 첫 idParameters개의 파라미터에 부모 ID, 마지막 파라미터에 page-size가 들어간다
+public enum ReadQuery {
+
+    // 책 상세의 토론 목록 (최신순)
+    DISCUSSIONS_BY_BOOK("book", 1,
+            "SELECT d.id, d.title, d.view_count, d.created_at, m.nickname FROM discussion d "
+                    + "JOIN member m ON m.id = d.member_id "
+                    + "WHERE d.book_id = ? AND d.deleted_at IS NULL ORDER BY d.created_at DESC LIMIT ?"),
+
+    // 토론 상세의 댓글 목록 (작성순)
+    COMMENTS_BY_DISCUSSION("discussion", 1,
+            "SELECT c.id, c.content, c.created_at, m.nickname FROM comment c "
+                    + "JOIN member m ON m.id = c.member_id "
+                    + "WHERE c.discussion_id = ? AND c.deleted_at IS NULL ORDER BY c.created_at LIMIT ?"),
+
+    // 댓글의 답글 목록 (작성순)
+    REPLIES_BY_COMMENT("comment", 1,
+            "SELECT r.id, r.content, r.created_at, m.nickname FROM reply r "
+                    + "JOIN member m ON m.id = r.member_id "
+                    + "WHERE r.comment_id = ? AND r.deleted_at IS NULL ORDER BY r.created_at LIMIT ?"),
+
+    // 회원의 최근 활동 (토론, 댓글, 답글을 합쳐 최신순)
+    MEMBER_ACTIVITY("member", 3,
+            "SELECT * FROM ("
+                    + "SELECT 'discussion' AS type, id, created_at FROM discussion WHERE member_id = ? AND deleted_at IS NULL "
+                    + "UNION ALL SELECT 'comment', id, created_at FROM comment WHERE member_id = ? AND deleted_at IS NULL "
+                    + "UNION ALL SELECT 'reply', id, created_at FROM reply WHERE member_id = ? AND deleted_at IS NULL"
+                    + ") activity ORDER BY created_at DESC LIMIT ?");
+
+    private final String parentTable;
+    private final int idParameters;
+    private final String sql;
+
+    ReadQuery(String parentTable, int idParameters, String sql) {
+        this.parentTable = parentTable;
+        this.idParameters = idParameters;
+        this.sql = sql;
+    }
+
+    public String parentTable() {
+        return parentTable;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public Object[] parameters(long parentId, int pageSize) {
+        Object[] parameters = new Object[idParameters + 1];
+        for (int i = 0; i < idParameters; i++) {
+            parameters[i] = parentId;
+        }
+        parameters[idParameters] = pageSize;
+        return parameters;
+    }
+}
@@ -0,0 +1,70 @@
+package todoktodok.batch.job;
+
+import java.util.EnumMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import todoktodok.batch.config.GenerationProperties;
+import todoktodok.batch.config.GenerationProperties.DistributionProperties;
+import todoktodok.batch.config.GenerationProperties.EntityProperties;
+import todoktodok.batch.config.GenerationProperties.ReadWorkloadProperties;
+import todoktodok.batch.generator.IdPool;
+import todoktodok.batch.generator.IdPoolCache;
+import todoktodok.batch.job.ReadWorkloadTasklet.Parents;
+
+// 생성된 데이터 위에서 백엔드의 조회 패턴(책별 토론, 토론별 댓글, 댓글별 답글, 회원 활동)을 재생하는 Job
+@Lazy
+@Configuration
+@RequiredArgsConstructor
+public class ReadWorkloadJobConfig {
+
+    private final GenerationProperties properties;
+    private final IdPoolCache idPoolCache;
+    private final DataSource dataSource;
+
+    // 조회는 autocommit으로 실행하므로 태스크릿 자체는 커넥션을 잡고 있지 않는다
+    @Bean
+    public Job readWorkloadJob(JobRepository jobRepository) {
+        ReadWorkloadProperties workload = properties.getReadWorkload();
+        Map<ReadQuery, Integer> weights = new EnumMap<>(ReadQuery.class);
+        weights.put(ReadQuery.DISCUSSIONS_BY_BOOK, workload.getDiscussionsByBookWeight());
+        weights.put(ReadQuery.COMMENTS_BY_DISCUSSION, workload.getCommentsByDiscussionWeight());
+        weights.put(ReadQuery.REPLIES_BY_COMMENT, workload.getRepliesByCommentWeight());
+        weights.put(ReadQuery.MEMBER_ACTIVITY, workload.getMemberActivityWeight());
+
+        return new JobBuilder("readWorkloadJob", jobRepository)
+                .start(new StepBuilder("readWorkloadStep", jobRepository)
+                        .tasklet(new ReadWorkloadTasklet(weights, this::parents, workload,
+                                new JdbcTemplate(dataSource)), new ResourcelessTransactionManager())
+                        .listener(new PartitionThroughputListener())
+                        .build())
+                .build();
+    }
+
+    // 부모는 생성할 때와 같은 분포로 고른다 (토론이 몰린 책일수록 그 책의 토론 목록도 자주 조회된다)
+    private Map<ReadQuery, Parents> parents(StepExecution stepExecution) {
+        Map<ReadQuery, Parents> parents = new EnumMap<>(ReadQuery.class);
+        parents.put(ReadQuery.DISCUSSIONS_BY_BOOK, parents(stepExecution, properties.getDiscussion(), "book"));
+        parents.put(ReadQuery.COMMENTS_BY_DISCUSSION, parents(stepExecution, properties.getComment(), "discussion"));
+        parents.put(ReadQuery.REPLIES_BY_COMMENT, parents(stepExecution, properties.getReply(), "comment"));
+        parents.put(ReadQuery.MEMBER_ACTIVITY, parents(stepExecution, properties.getDiscussion(), "member"));
+        return parents;
+    }
+
+    private Parents parents(StepExecution stepExecution, EntityProperties entity, String parentTable) {
+        IdPool ids = idPoolCache.ids(stepExecution, parentTable);
+        DistributionProperties distribution = entity.distribution(parentTable);
+        return new Parents(ids, idPoolCache.sampler(stepExecution, parentTable, ids.size(),
+                distribution.getType(), distribution.getExponent()));
+    }
+}
@@ -0,0 +1,182 @@
+package todoktodok.batch.job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import todoktodok.batch.config.GenerationProperties.ReadWorkloadProperties;
+import todoktodok.batch.generator.IdPool;
+import todoktodok.batch.generator.IndexSampler;
+import todoktodok.batch.metrics.LatencyRecorder;
+
+// 여러 가상 스레드 클라이언트가 백엔드의 조회 쿼리를 섞어 반복 실행하며 쿼리별 처리량과 지연 분포를 기록한다
+// 클라이언트는 응답을 받으면 바로 다음 쿼리를 보내고(closed loop), 워밍업 구간에 시작한 쿼리는 지연, 행 수, 실패 모두 기록하지 않는다
+@Slf4j
+@RequiredArgsConstructor
+public class ReadWorkloadTasklet implements Tasklet {
+
+    private final Map<ReadQuery, Integer> weights;
+    private final Function<StepExecution, Map<ReadQuery, Parents>> parentsFactory;
+    private final ReadWorkloadProperties workload;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 쿼리 파라미터로 쓸 부모 ID와 고르는 분포
+    public record Parents(IdPool ids, IndexSampler sampler) {
+
+        long next() {
+            return ids.idAt(sampler.sample(ThreadLocalRandom.current().nextLong()));
+        }
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        Map<ReadQuery, Parents> parents = parentsFactory.apply(stepExecution);
+
+        long startNanos = System.nanoTime();
+        long measureStartNanos = startNanos + workload.getWarmup().toNanos();
+        List<Query> queries = new ArrayList<>();
+        for (ReadQuery query : ReadQuery.values()) {
+            int weight = weights.getOrDefault(query, 0);
+            if (weight > 0 && parents.get(query).ids().size() > 0) {
+                queries.add(new Query(query, weight, parents.get(query), measureStartNanos));
+            }
+        }
+        int[] cumulativeWeights = cumulativeWeights(queries);
+
+        long endNanos = measureStartNanos + workload.getDuration().toNanos();
+        long reportIntervalNanos = workload.getReportInterval().toNanos();
+        log.info("조회 부하 시작: 클라이언트 {}개, 워밍업 {}, {} 동안", workload.getClients(), workload.getWarmup(),
+                workload.getDuration());
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < workload.getClients(); i++) {
+                clients.submit(() -> runClient(queries, cumulativeWeights, endNanos));
+            }
+
+            sleepUntil(measureStartNanos);
+            long lastReportNanos = System.nanoTime();
+            while (lastReportNanos < endNanos && !Thread.currentThread().isInterrupted()) {
+                sleepUntil(Math.min(lastReportNanos + reportIntervalNanos, endNanos));
+                long now = System.nanoTime();
+                report(queries, now - lastReportNanos);
+                lastReportNanos = now;
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - measureStartNanos;
+        ExecutionContext context = stepExecution.getExecutionContext();
+        for (Query query : queries) {
+            // 마지막 보고 이후 끝난 쿼리까지 전체 누적에 더한다
+            query.latency.interval();
+            Histogram total = query.latency.total();
+            log.info("[조회 부하] {} 전체: {}, 행 {}건, 실패 {}건", query.latency.name(),
+                    LatencyRecorder.summary(total, elapsedNanos), query.rows.sum(), query.failures.sum());
+            contribution.incrementReadCount(total.getTotalCount());
+            query.latency.saveTotal(context, "readWorkload." + query.latency.name());
+            context.putLong("readWorkload." + query.latency.name() + ".rows", query.rows.sum());
+            context.putLong("readWorkload." + query.latency.name() + ".failures", query.failures.sum());
+        }
+        return RepeatStatus.FINISHED;
+    }
+
+    private void runClient(List<Query> queries, int[] cumulativeWeights, long endNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < endNanos && !Thread.currentThread().isInterrupted()) {
+            queries.get(pick(cumulativeWeights, random.nextInt(cumulativeWeights[cumulativeWeights.length - 1])))
+                    .run();
+        }
+    }
+
+    private int[] cumulativeWeights(List<Query> queries) {
+        if (queries.isEmpty()) {
+            throw new IllegalStateException("실행할 조회 쿼리가 없습니다. 비율과 생성된 데이터를 확인하세요.");
+        }
+        int[] cumulative = new int[queries.size()];
+        int sum = 0;
+        for (int i = 0; i < queries.size(); i++) {
+            sum += queries.get(i).weight;
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    private int pick(int[] cumulativeWeights, int value) {
+        int index = 0;
+        while (value >= cumulativeWeights[index]) {
+            index++;
+        }
+        return index;
+    }
+
+    private void report(List<Query> queries, long elapsedNanos) {
+        for (Query query : queries) {
+            log.info("[조회 부하] {} 구간: {}", query.latency.name(),
+                    LatencyRecorder.summary(query.latency.interval(), elapsedNanos));
+        }
+    }
+
+    private static void sleepUntil(long deadlineNanos) throws InterruptedException {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private class Query {
+
+        private final ReadQuery query;
+        private final int weight;
+        private final Parents parents;
+        private final LatencyRecorder latency;
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final long measureStartNanos;
+
+        private Query(ReadQuery query, int weight, Parents parents, long measureStartNanos) {
+            this.query = query;
+            this.weight = weight;
+            this.parents = parents;
+            this.latency = new LatencyRecorder(query.name().toLowerCase());
+            this.measureStartNanos = measureStartNanos;
+        }
+
+        // 결과 행은 모두 읽어 네트워크와 역직렬화 비용까지 포함하되 객체로 만들지는 않는다
+        private void run() {
+            Object[] parameters = query.parameters(parents.next(), workload.getPageSize());
+            long startNanos = System.nanoTime();
+            boolean measured = startNanos >= measureStartNanos;
+            long[] rowCount = new long[1];
+            try {
+                jdbcTemplate.query(query.sql(), resultSet -> {
+                    resultSet.getObject(1);
+                    rowCount[0]++;
+                }, parameters);
+                if (measured) {
+                    latency.record(System.nanoTime() - startNanos);
+                    rows.add(rowCount[0]);
+                }
+            } catch (Exception e) {
+                if (measured) {
+                    failures.increment();
+                }
+                log.debug("{} 조회 실패: {}", query, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package todoktodok.batch.job;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.partition.StepExecutionSplitter;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+// 파티션을 직접 실행하지 않고 JobRepository에 STARTING 상태로 저장만 한 뒤, 워커 프로세스들(PartitionWorker)이
+// 가져가 실행해 끝날 때까지 조회한다. 메시지 브로커 없이 배치 메타 테이블이 매니저와 워커 사이의 큐 역할을 한다
+// 워커는 실행 중인 파티션의 LAST_UPDATED를 주기적으로 갱신하므로, lease-timeout 동안 갱신이 없으면 워커가 죽은 것으로 보고 실패로 처리한다
+@Slf4j
+@RequiredArgsConstructor
+public class RepositoryPartitionHandler implements PartitionHandler {
+
+    // 이 표시가 있는 파티션만 워커가 가져간다 (로컬 파티셔닝으로 실행 중인 파티션은 건드리지 않는다)
+    public static final String DISTRIBUTED_KEY = "distributed.partition";
+
+    private final JobRepository jobRepository;
+    private final JobExplorer jobExplorer;
+    private final int gridSize;
+    private final Duration pollInterval;
+    private final Duration timeout;
+    private final Duration leaseTimeout;
+
+    @Override
+    public Collection<StepExecution> handle(StepExecutionSplitter stepSplitter, StepExecution managerStepExecution)
+            throws Exception {
+        Set<StepExecution> partitions = stepSplitter.split(managerStepExecution, gridSize);
+        for (StepExecution partition : partitions) {
+            partition.getExecutionContext().put(DISTRIBUTED_KEY, true);
+            jobRepository.updateExecutionContext(partition);
+        }
+        log.info("[{}] 파티션 {}개를 워커에 배분합니다.", managerStepExecution.getStepName(), partitions.size());
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Set<StepExecution> pending = new HashSet<>(partitions);
+        while (!pending.isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException(String.format("[%s] 파티션 %d개가 %s 안에 끝나지 않았습니다.",
+                        managerStepExecution.getStepName(), pending.size(), timeout));
+            }
+            Thread.sleep(pollInterval.toMillis());
+
+            for (Iterator<StepExecution> iterator = pending.iterator(); iterator.hasNext(); ) {
+                StepExecution partition = iterator.next();
+                StepExecution latest = jobExplorer.getStepExecution(partition.getJobExecutionId(), partition.getId());
+                if (latest == null) {
+                    continue;
+                }
+                if (!latest.getStatus().isRunning() || isExpired(latest) && expire(latest)) {
+                    copyResult(latest, partition);
+                    iterator.remove();
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private boolean isExpired(StepExecution partition) {
+        return partition.getStatus() == BatchStatus.STARTED && partition.getLastUpdated() != null
+                && partition.getLastUpdated().plus(leaseTimeout).isBefore(LocalDateTime.now());
+    }
+
+    // VERSION이 올라가므로 죽은 줄 알았던 워커가 살아 있어도 다음 청크 커밋이 낙관적 잠금으로 실패한다
+    // 그 사이 워커가 먼저 상태를 갱신했으면 실패로 바꾸지 않고 다음 조회에서 다시 확인한다
+    private boolean expire(StepExecution partition) {
+        log.warn("[{}] {} 동안 갱신되지 않아 워커가 종료된 것으로 보고 실패로 처리합니다.", partition.getStepName(),
+                leaseTimeout);
+        partition.setStatus(BatchStatus.FAILED);
+        partition.setExitStatus(ExitStatus.FAILED.addExitDescription("워커 응답 없음 (lease-timeout " + leaseTimeout + ")"));
+        partition.setEndTime(LocalDateTime.now());
+        try {
+            jobRepository.update(partition);
+            return true;
+        } catch (OptimisticLockingFailureException e) {
+            return false;
+        }
+    }
+
+    // 매니저의 JobExecution이 들고 있는 파티션 객체에 워커가 저장한 결과를 옮겨 집계와 리스너가 최신 값을 보게 한다
+    private void copyResult(StepExecution source, StepExecution target) {
+        target.setStatus(source.getStatus());
+        target.setExitStatus(source.getExitStatus());
+        target.setStartTime(source.getStartTime());
+        target.setEndTime(source.getEndTime());
+        target.setLastUpdated(source.getLastUpdated());
+        target.setReadCount(source.getReadCount());
+        target.setWriteCount(source.getWriteCount());
+        target.setCommitCount(source.getCommitCount());
+        target.setRollbackCount(source.getRollbackCount());
+        target.setFilterCount(source.getFilterCount());
+        target.setReadSkipCount(source.getReadSkipCount());
+        target.setProcessSkipCount(source.getProcessSkipCount());
+        target.setWriteSkipCount(source.getWriteSkipCount());
+        target.setExecutionContext(source.getExecutionContext());
+        target.setVersion(source.getVersion());
+    }
+}
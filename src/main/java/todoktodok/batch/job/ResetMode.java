@@ -0,0 +1,8 @@
+package todoktodok.batch.job;
+
+public enum ResetMode {
+    // 자식 테이블부터 TRUNCATE
+    TRUNCATE,
+    // 새 테이블에 적재한 뒤 이름을 바꿔 한 번에 교체
+    SHADOW
+}
@@ -0,0 +1,55 @@
+package todoktodok.batch.job;
+
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import todoktodok.batch.support.DatabaseType;
+import todoktodok.batch.support.TableConstraints;
+
+// 테이블마다 컬럼과 기본 키가 같은 빈 <테이블>_shadow를 만든다
+// 외래 키는 교체 후에 원래 이름으로 다시 만들고, 적재 중에는 검사할 것이 없으므로 만들지 않는다
+@Slf4j
+public class ShadowTablesPrepareTasklet implements Tasklet {
+
+    public static final String SHADOW_SUFFIX = "_shadow";
+    public static final String OLD_SUFFIX = "_old";
+
+    private final List<String> tables;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    // tables는 부모부터 나열한다
+    public ShadowTablesPrepareTasklet(List<String> tables, DataSource dataSource) {
+        this.tables = tables;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        DatabaseType databaseType = DatabaseType.of(dataSource);
+
+        // 이전 실행이 남긴 테이블은 서로 외래 키로 묶여 있을 수 있으므로 자식부터 지운다
+        for (String table : tables.reversed()) {
+            dropIfExists(table + SHADOW_SUFFIX);
+            dropIfExists(table + OLD_SUFFIX);
+        }
+        for (String table : tables) {
+            jdbcTemplate.execute(TableConstraints.copyTableSql(databaseType, dataSource, table, table + SHADOW_SUFFIX));
+        }
+        log.info("새 테이블 {}개 생성: {}", tables.size(), tables.stream().map(table -> table + SHADOW_SUFFIX).toList());
+        return RepeatStatus.FINISHED;
+    }
+
+    private void dropIfExists(String table) {
+        if (TableConstraints.exists(dataSource, table)) {
+            log.warn("이전 실행이 남긴 {} 테이블을 삭제합니다.", table);
+            jdbcTemplate.execute("DROP TABLE " + table);
+        }
+    }
+}
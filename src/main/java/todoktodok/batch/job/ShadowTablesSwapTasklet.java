@@ -0,0 +1,138 @@
+package todoktodok.batch.job;
+
+import static todoktodok.batch.job.ShadowTablesPrepareTasklet.OLD_SUFFIX;
+import static todoktodok.batch.job.ShadowTablesPrepareTasklet.SHADOW_SUFFIX;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import todoktodok.batch.support.DatabaseType;
+import todoktodok.batch.support.TableConstraints;
+import todoktodok.batch.support.TableConstraints.ForeignKey;
+import todoktodok.batch.support.TableConstraints.Index;
+import todoktodok.batch.writer.BulkLoader;
+
+// 채워 둔 <테이블>_shadow를 원래 이름으로 바꿔 넣고, 기존 테이블을 지운 뒤 외래 키(H2는 보조 인덱스도)를 원래 이름으로 다시 만든다
+// MySQL은 RENAME TABLE 한 문장으로 모든 테이블을 원자적으로 바꾼다
+// H2는 여러 테이블을 한 문장으로 바꿀 수 없으므로 EXCLUSIVE 모드로 다른 세션을 잠시 멈춘 채 차례로 바꾼다
+@Slf4j
+public class ShadowTablesSwapTasklet implements Tasklet {
+
+    public static final String REBUILD_SQL_KEY = "reset.rebuildSql";
+
+    private final List<String> tables;
+    private final DataSource dataSource;
+    private final BulkLoader bulkLoader;
+    private final JdbcTemplate jdbcTemplate;
+
+    // tables는 부모부터 나열한다
+    public ShadowTablesSwapTasklet(List<String> tables, DataSource dataSource, BulkLoader bulkLoader) {
+        this.tables = tables;
+        this.dataSource = dataSource;
+        this.bulkLoader = bulkLoader;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        DatabaseType databaseType = DatabaseType.of(dataSource);
+        ExecutionContext jobContext = chunkContext.getStepContext().getStepExecution().getJobExecution()
+                .getExecutionContext();
+
+        // 재시작이면 이미 교체됐을 수 있으므로 처음 저장한 재생성 DDL을 그대로 쓰고, 새 테이블이 남아 있을 때만 교체한다
+        if (!jobContext.containsKey(REBUILD_SQL_KEY)) {
+            List<ForeignKey> foreignKeys = tables.stream()
+                    .flatMap(table -> TableConstraints.foreignKeys(dataSource, table).stream())
+                    .toList();
+            validate(foreignKeys);
+
+            ArrayList<String> rebuildSql = new ArrayList<>();
+            if (databaseType == DatabaseType.H2) {
+                for (String table : tables) {
+                    TableConstraints.secondaryIndexes(dataSource, table).stream()
+                            .map(Index::createSql)
+                            .forEach(rebuildSql::add);
+                }
+            }
+            foreignKeys.stream().map(ForeignKey::createSql).forEach(rebuildSql::add);
+            jobContext.put(REBUILD_SQL_KEY, rebuildSql);
+        }
+
+        long startedAt = System.currentTimeMillis();
+        if (TableConstraints.exists(dataSource, tables.get(0) + SHADOW_SUFFIX)) {
+            swap(databaseType);
+        }
+        long swappedAt = System.currentTimeMillis();
+
+        // 기존 테이블끼리 걸린 외래 키가 있으므로 자식부터 지운다. 지워야 외래 키와 인덱스 이름을 다시 쓸 수 있다
+        for (String table : tables.reversed()) {
+            if (TableConstraints.exists(dataSource, table + OLD_SUFFIX)) {
+                jdbcTemplate.execute("DROP TABLE " + table + OLD_SUFFIX);
+            }
+        }
+        rebuild(jobContext);
+        for (String table : tables) {
+            bulkLoader.restartIdentity(table);
+            contribution.incrementWriteCount(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class));
+        }
+        log.info("테이블 교체 {}ms, 기존 테이블 삭제와 외래 키 재생성 {}ms", swappedAt - startedAt,
+                System.currentTimeMillis() - swappedAt);
+        return RepeatStatus.FINISHED;
+    }
+
+    // 교체하기 전에 새 테이블끼리 부모 없는 행이 있는지 확인한다. 실패해도 원래 테이블은 그대로다
+    private void validate(List<ForeignKey> foreignKeys) {
+        List<String> violations = TableConstraints.orphanViolations(dataSource, TableConstraints.orphanCountSql(
+                foreignKeys.stream()
+                        .map(foreignKey -> new ForeignKey(shadow(foreignKey.table()), foreignKey.name(),
+                                foreignKey.columns(), shadow(foreignKey.referencedTable()),
+                                foreignKey.referencedColumns()))
+                        .toList()));
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("새 테이블에 부모 행이 없는 데이터가 있습니다: " + violations);
+        }
+    }
+
+    private String shadow(String table) {
+        return tables.contains(table) ? table + SHADOW_SUFFIX : table;
+    }
+
+    private void swap(DatabaseType databaseType) {
+        if (databaseType == DatabaseType.MYSQL) {
+            jdbcTemplate.execute("RENAME TABLE " + tables.stream()
+                    .map(table -> table + " TO " + table + OLD_SUFFIX + ", " + table + SHADOW_SUFFIX + " TO " + table)
+                    .collect(Collectors.joining(", ")));
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET EXCLUSIVE 1");
+                try {
+                    for (String table : tables) {
+                        statement.execute("ALTER TABLE " + table + " RENAME TO " + table + OLD_SUFFIX);
+                        statement.execute("ALTER TABLE " + table + SHADOW_SUFFIX + " RENAME TO " + table);
+                    }
+                } finally {
+                    statement.execute("SET EXCLUSIVE 0");
+                }
+            }
+            return null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuild(ExecutionContext jobContext) {
+        TableConstraints.executeRemaining(dataSource, (List<String>) jobContext.get(REBUILD_SQL_KEY, List.class,
+                List.of()), remaining -> jobContext.put(REBUILD_SQL_KEY, remaining));
+    }
+}
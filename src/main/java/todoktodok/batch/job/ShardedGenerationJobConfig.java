@@ -0,0 +1,196 @@
+package todoktodok.batch.job;
+
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import todoktodok.batch.config.GenerationProperties;
+import todoktodok.batch.config.GenerationProperties.DistributionProperties;
+import todoktodok.batch.config.GenerationProperties.EntityProperties;
+import todoktodok.batch.config.GenerationProperties.ShardingProperties;
+import todoktodok.batch.generator.BookRowGenerator;
+import todoktodok.batch.generator.CommentRowGenerator;
+import todoktodok.batch.generator.DiscussionRowGenerator;
+import todoktodok.batch.generator.IdPool;
+import todoktodok.batch.generator.IdPoolCache;
+import todoktodok.batch.generator.IndexItemReader;
+import todoktodok.batch.generator.IndexSampler;
+import todoktodok.batch.generator.MemberRowGenerator;
+import todoktodok.batch.generator.ReplyRowGenerator;
+import todoktodok.batch.generator.TextGenerators;
+import todoktodok.batch.row.CommentRow;
+import todoktodok.batch.row.DiscussionRow;
+import todoktodok.batch.row.ReplyRow;
+import todoktodok.batch.writer.RowStatement;
+import todoktodok.batch.writer.RowStatements;
+import todoktodok.batch.writer.Shard;
+import todoktodok.batch.writer.ShardFunction;
+import todoktodok.batch.writer.ShardedItemWriter;
+import todoktodok.batch.writer.ShardedRow;
+import todoktodok.batch.writer.Shards;
+
+// member_id로 수평 분할한 스키마를 흉내 내는 Job: 회원과 책은 모든 샤드에 복제하고, 토론, 댓글, 답글은 작성자 기준으로 나눠 쓴다
+// 여러 DB에 나눠 쓰므로 ID는 행 번호(1..count)로 정하고, 부모 ID도 DB를 읽지 않고 1..count로 계산한다 (덤프 내보내기와 같은 가정)
+@Slf4j
+@Lazy
+@Configuration
+@RequiredArgsConstructor
+public class ShardedGenerationJobConfig {
+
+    private static final String[] TABLES = {"member", "book", "discussion", "comment", "reply"};
+
+    private final GenerationProperties properties;
+    private final IdPoolCache idPoolCache;
+    private final TextGenerators textGenerators;
+    private final TaskExecutor generationTaskExecutor;
+    private final IndexItemReader generationIndexReader;
+    private final Shards shards;
+    private final ObjectProvider<ShardFunction> shardFunctionProvider;
+
+    @Bean
+    public Job shardedDataGenerationJob(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+        ShardFunction shardFunction = shardFunctionProvider.getIfAvailable(() -> properties.getSharding().getFunction());
+        BookRowGenerator bookGenerator = new BookRowGenerator(properties.getSeed(), textGenerators.getSummary());
+        MemberRowGenerator memberGenerator = new MemberRowGenerator(properties.getSeed());
+
+        return new JobBuilder("shardedDataGenerationJob", jobRepository)
+                .start(shardSchemaStep(jobRepository))
+                .next(shardedStep("memberShardedStep", jobRepository, transactionManager, properties.getMember(),
+                        stepExecution -> memberGenerator, ShardedItemWriter.replicated(shards, RowStatements.MEMBER)))
+                .next(shardedStep("bookShardedStep", jobRepository, transactionManager, properties.getBook(),
+                        stepExecution -> bookGenerator, ShardedItemWriter.replicated(shards, RowStatements.BOOK)))
+                .next(shardedStep("discussionShardedStep", jobRepository, transactionManager,
+                        properties.getDiscussion(), this::discussionGenerator,
+                        routed(RowStatements.DISCUSSION, DiscussionRow::memberId, shardFunction)))
+                .next(shardedStep("commentShardedStep", jobRepository, transactionManager, properties.getComment(),
+                        this::commentGenerator, routed(RowStatements.COMMENT, CommentRow::memberId, shardFunction)))
+                .next(shardedStep("replyShardedStep", jobRepository, transactionManager, properties.getReply(),
+                        this::replyGenerator, routed(RowStatements.REPLY, ReplyRow::memberId, shardFunction)))
+                .next(new StepBuilder("shardSummaryStep", jobRepository)
+                        .tasklet((contribution, chunkContext) -> {
+                            logShardSummary();
+                            return RepeatStatus.FINISHED;
+                        }, new ResourcelessTransactionManager())
+                        .build())
+                .build();
+    }
+
+    // 재시작해도 매번 실행한다 (CREATE TABLE IF NOT EXISTS라 이미 있는 테이블은 그대로 둔다)
+    private Step shardSchemaStep(JobRepository jobRepository) {
+        ShardingProperties sharding = properties.getSharding();
+        return new StepBuilder("shardSchemaStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    for (Shard shard : shards.all()) {
+                        if (sharding.isInitializeSchema()) {
+                            new ResourceDatabasePopulator(new ClassPathResource("schema-shard.sql"))
+                                    .execute(shard.dataSource());
+                        }
+                        log.info("샤드 {}: {}", shard.index(), shard.url());
+                    }
+                    return RepeatStatus.FINISHED;
+                }, new ResourcelessTransactionManager())
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    // 샤드 쓰기는 샤드마다 별도 트랜잭션으로 커밋하고, 청크 트랜잭션은 기본 DB의 진행 위치만 저장한다
+    private <T> Step shardedStep(String name, JobRepository jobRepository,
+                                 PlatformTransactionManager transactionManager, EntityProperties entity,
+                                 Function<StepExecution, ItemProcessor<Long, T>> generatorFactory,
+                                 ItemWriter<ShardedRow<T>> writer) {
+        Step workerStep = new StepBuilder(name.replace("Step", "WorkerStep"), jobRepository)
+                .<Long, ShardedRow<T>>chunk(entity.getChunkSize(), transactionManager)
+                .reader(generationIndexReader)
+                .processor(new ShardedRowProcessor<>(generatorFactory))
+                .writer(writer)
+                .listener(new PartitionThroughputListener())
+                .build();
+
+        return new StepBuilder(name, jobRepository)
+                .partitioner(workerStep.getName(), new IndexRangePartitioner(entity.getCount()))
+                .step(workerStep)
+                .gridSize(properties.getGridSize())
+                .taskExecutor(generationTaskExecutor)
+                .listener(new PartitionThroughputListener())
+                .build();
+    }
+
+    private <T> ShardedItemWriter<T> routed(RowStatement<T> statement, ToLongFunction<T> memberId,
+                                            ShardFunction shardFunction) {
+        return new ShardedItemWriter<>(shards, statement, memberId, shardFunction);
+    }
+
+    // 샤드별 건수로 분할이 고른지 확인한다
+    private void logShardSummary() {
+        for (Shard shard : shards.all()) {
+            StringBuilder summary = new StringBuilder();
+            for (String table : TABLES) {
+                Long count = shard.jdbcTemplate().queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+                summary.append(String.format(" %s %,d", table, count));
+            }
+            log.info("[샤드 {}]{}", shard.index(), summary);
+        }
+    }
+
+    private DiscussionRowGenerator discussionGenerator(StepExecution stepExecution) {
+        BookRowGenerator bookGenerator = new BookRowGenerator(properties.getSeed(), textGenerators.getSummary());
+        return new DiscussionRowGenerator(
+                properties.getSeed(),
+                parentIds(stepExecution, "member", properties.getMember()),
+                sampler(stepExecution, properties.getDiscussion(), "member", properties.getMember()),
+                parentIds(stepExecution, "book", properties.getBook()),
+                sampler(stepExecution, properties.getDiscussion(), "book", properties.getBook()),
+                idPoolCache.column(stepExecution, "book", "title", properties.getBook().getCount(),
+                        index -> bookGenerator.process(index).title()),
+                textGenerators.getDiscussion());
+    }
+
+    private CommentRowGenerator commentGenerator(StepExecution stepExecution) {
+        return new CommentRowGenerator(
+                properties.getSeed(),
+                parentIds(stepExecution, "member", properties.getMember()),
+                sampler(stepExecution, properties.getComment(), "member", properties.getMember()),
+                parentIds(stepExecution, "discussion", properties.getDiscussion()),
+                sampler(stepExecution, properties.getComment(), "discussion", properties.getDiscussion()),
+                textGenerators.getComment());
+    }
+
+    private ReplyRowGenerator replyGenerator(StepExecution stepExecution) {
+        return new ReplyRowGenerator(
+                properties.getSeed(),
+                parentIds(stepExecution, "member", properties.getMember()),
+                sampler(stepExecution, properties.getReply(), "member", properties.getMember()),
+                parentIds(stepExecution, "comment", properties.getComment()),
+                sampler(stepExecution, properties.getReply(), "comment", properties.getComment()),
+                textGenerators.getReply());
+    }
+
+    private IdPool parentIds(StepExecution stepExecution, String parentTable, EntityProperties parent) {
+        return idPoolCache.sequence(stepExecution, parentTable, parent.getCount());
+    }
+
+    private IndexSampler sampler(StepExecution stepExecution, EntityProperties entity, String parentTable,
+                                 EntityProperties parent) {
+        DistributionProperties distribution = entity.distribution(parentTable);
+        return idPoolCache.sampler(stepExecution, parentTable, Math.toIntExact(parent.getCount()),
+                distribution.getType(), distribution.getExponent());
+    }
+}
@@ -0,0 +1,37 @@
+package todoktodok.batch.job;
+
+import java.util.function.Function;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ItemProcessor;
+import todoktodok.batch.writer.ShardedRow;
+
+// 행 번호로 행을 만들고 그 번호를 ID로 붙인다
+// 워커 스텝 하나를 파티션 스레드들이 함께 쓰므로 생성기는 파티션을 시작할 때 스레드마다 만든다
+// (처리기가 StepExecutionListener이므로 스텝에 자동으로 등록된다)
+public class ShardedRowProcessor<T> implements ItemProcessor<Long, ShardedRow<T>>, StepExecutionListener {
+
+    private final Function<StepExecution, ItemProcessor<Long, T>> generatorFactory;
+    private final ThreadLocal<ItemProcessor<Long, T>> generator = new ThreadLocal<>();
+
+    public ShardedRowProcessor(Function<StepExecution, ItemProcessor<Long, T>> generatorFactory) {
+        this.generatorFactory = generatorFactory;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        generator.set(generatorFactory.apply(stepExecution));
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        generator.remove();
+        return null;
+    }
+
+    @Override
+    public ShardedRow<T> process(Long index) throws Exception {
+        return new ShardedRow<>(index, generator.get().process(index));
+    }
+}
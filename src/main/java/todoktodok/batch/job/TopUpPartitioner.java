@@ -0,0 +1,60 @@
+package todoktodok.batch.job;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.PartitionNameProvider;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// 테이블에 이미 있는 행 수를 빼고 목표 건수까지 모자란 만큼만 나눈다
+// 행 번호는 MAX(id) + 1부터 이어가므로 기존 행과 이메일, ISBN, 제목 번호가 겹치지 않는다
+// (IDENTITY로 넣은 행의 번호는 그때까지 넣은 행 수, 즉 MAX(id)를 넘지 않는다)
+// 재시작하면 파티션 이름만 다시 만들고 구간은 저장된 값을 그대로 쓰므로, 그 사이 커밋된 행 때문에 보충 건수가 줄지 않는다
+@Slf4j
+public class TopUpPartitioner implements Partitioner, PartitionNameProvider {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final long targetCount;
+
+    public TopUpPartitioner(JdbcTemplate jdbcTemplate, String table, long targetCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+        this.targetCount = targetCount;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, Object> current = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS row_count, COALESCE(MAX(id), 0) AS max_id FROM " + table);
+        long rowCount = ((Number) current.get("row_count")).longValue();
+        long maxId = ((Number) current.get("max_id")).longValue();
+        long delta = Math.max(0, targetCount - rowCount);
+
+        log.info("{} 보충: 현재 {}건(최대 id {}), 목표 {}건, 추가 {}건", table, rowCount, maxId, targetCount, delta);
+        Map<String, ExecutionContext> partitions = new HashMap<>(
+                new IndexRangePartitioner(maxId + 1, delta, 0).partition(gridSize));
+
+        // 추가 건수가 적어도 파티션 이름은 항상 gridSize개로 맞춘다 (빈 구간은 아무것도 생성하지 않는다)
+        for (String name : getPartitionNames(gridSize)) {
+            partitions.computeIfAbsent(name, ignored -> {
+                ExecutionContext context = new ExecutionContext();
+                context.putLong(IndexRangePartitioner.MIN_INDEX, maxId + 1 + delta);
+                context.putLong(IndexRangePartitioner.MAX_INDEX, maxId + delta);
+                return context;
+            });
+        }
+        return partitions;
+    }
+
+    @Override
+    public Collection<String> getPartitionNames(int gridSize) {
+        return IntStream.range(0, gridSize)
+                .mapToObj(partition -> "partition" + partition)
+                .toList();
+    }
+}
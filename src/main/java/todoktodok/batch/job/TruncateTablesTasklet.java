@@ -0,0 +1,59 @@
+package todoktodok.batch.job;
+
+import java.sql.Statement;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import todoktodok.batch.support.DatabaseType;
+
+// 자식 테이블부터 TRUNCATE한다. 부모를 비우는 동안 외래 키 검사에 걸리지 않도록 같은 커넥션에서 검사를 잠시 끈다
+// MySQL의 FOREIGN_KEY_CHECKS는 세션 변수이므로 커넥션을 풀에 돌려주기 전에 반드시 다시 켠다
+@Slf4j
+public class TruncateTablesTasklet implements Tasklet {
+
+    private final List<String> tables;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    // tables는 부모부터 나열한다
+    public TruncateTablesTasklet(List<String> tables, DataSource dataSource) {
+        this.tables = tables;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        DatabaseType databaseType = DatabaseType.of(dataSource);
+        long startedAt = System.currentTimeMillis();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(databaseType == DatabaseType.MYSQL
+                        ? "SET FOREIGN_KEY_CHECKS = 0"
+                        : "SET REFERENTIAL_INTEGRITY FALSE");
+                try {
+                    for (String table : tables.reversed()) {
+                        // MySQL의 TRUNCATE는 AUTO_INCREMENT도 1로 되돌린다
+                        statement.execute(databaseType == DatabaseType.MYSQL
+                                ? "TRUNCATE TABLE " + table
+                                : "TRUNCATE TABLE " + table + " RESTART IDENTITY");
+                        log.info("{} 테이블 비움", table);
+                    }
+                } finally {
+                    statement.execute(databaseType == DatabaseType.MYSQL
+                            ? "SET FOREIGN_KEY_CHECKS = 1"
+                            : "SET REFERENTIAL_INTEGRITY TRUE");
+                }
+            }
+            return null;
+        });
+        log.info("테이블 초기화 완료 ({}개): {}ms", tables.size(), System.currentTimeMillis() - startedAt);
+        return RepeatStatus.FINISHED;
+    }
+}
@@ -0,0 +1,103 @@
+package todoktodok.batch.job;
+
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import todoktodok.batch.config.GenerationProperties;
+import todoktodok.batch.config.GenerationProperties.DistributionProperties;
+import todoktodok.batch.config.GenerationProperties.EntityProperties;
+import todoktodok.batch.config.GenerationProperties.WriteLoadProperties;
+import todoktodok.batch.generator.CommentRowGenerator;
+import todoktodok.batch.generator.DiscussionRowGenerator;
+import todoktodok.batch.generator.IdPoolCache;
+import todoktodok.batch.generator.IndexSampler;
+import todoktodok.batch.generator.ReplyRowGenerator;
+import todoktodok.batch.generator.TextGenerators;
+import todoktodok.batch.job.WriteLoadTasklet.Target;
+import todoktodok.batch.row.CommentRow;
+import todoktodok.batch.row.DiscussionRow;
+import todoktodok.batch.row.ReplyRow;
+
+// 이미 생성된 데이터 위에 정해진 처리율로 토론, 댓글, 답글을 계속 쓰는 Job (라이브 쓰기 트래픽 흉내)
+@Lazy
+@Configuration
+@RequiredArgsConstructor
+public class WriteLoadJobConfig {
+
+    private final GenerationProperties properties;
+    private final IdPoolCache idPoolCache;
+    private final TextGenerators textGenerators;
+    private final DataSource dataSource;
+    private final ItemWriter<DiscussionRow> discussionWriter;
+    private final ItemWriter<CommentRow> commentWriter;
+    private final ItemWriter<ReplyRow> replyWriter;
+
+    // 쓰기는 작업마다 별도 트랜잭션으로 커밋하므로 태스크릿 자체는 커넥션을 잡고 있지 않는다
+    @Bean
+    public Job writeLoadJob(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+        WriteLoadProperties load = properties.getWriteLoad();
+        List<Target<?>> targets = List.of(
+                new Target<>("discussion", load.getDiscussionWeight(), this::discussionGenerator, discussionWriter),
+                new Target<>("comment", load.getCommentWeight(), this::commentGenerator, commentWriter),
+                new Target<>("reply", load.getReplyWeight(), this::replyGenerator, replyWriter));
+
+        return new JobBuilder("writeLoadJob", jobRepository)
+                .start(new StepBuilder("writeLoadStep", jobRepository)
+                        .tasklet(new WriteLoadTasklet(targets, load, new TransactionTemplate(transactionManager),
+                                new JdbcTemplate(dataSource)), new ResourcelessTransactionManager())
+                        .listener(new PartitionThroughputListener())
+                        .build())
+                .build();
+    }
+
+    // 부모는 시작할 때 있던 행 중에서 고른다 (부하 중에 새로 쓴 행은 부모 후보에 들어가지 않는다)
+    private DiscussionRowGenerator discussionGenerator(StepExecution stepExecution) {
+        return new DiscussionRowGenerator(
+                properties.getSeed(),
+                idPoolCache.ids(stepExecution, "member"),
+                sampler(stepExecution, properties.getDiscussion(), "member"),
+                idPoolCache.ids(stepExecution, "book"),
+                sampler(stepExecution, properties.getDiscussion(), "book"),
+                idPoolCache.column(stepExecution, "book", "title"),
+                textGenerators.getDiscussion());
+    }
+
+    private CommentRowGenerator commentGenerator(StepExecution stepExecution) {
+        return new CommentRowGenerator(
+                properties.getSeed(),
+                idPoolCache.ids(stepExecution, "member"),
+                sampler(stepExecution, properties.getComment(), "member"),
+                idPoolCache.ids(stepExecution, "discussion"),
+                sampler(stepExecution, properties.getComment(), "discussion"),
+                textGenerators.getComment());
+    }
+
+    private ReplyRowGenerator replyGenerator(StepExecution stepExecution) {
+        return new ReplyRowGenerator(
+                properties.getSeed(),
+                idPoolCache.ids(stepExecution, "member"),
+                sampler(stepExecution, properties.getReply(), "member"),
+                idPoolCache.ids(stepExecution, "comment"),
+                sampler(stepExecution, properties.getReply(), "comment"),
+                textGenerators.getReply());
+    }
+
+    private IndexSampler sampler(StepExecution stepExecution, EntityProperties entity, String parentTable) {
+        DistributionProperties distribution = entity.distribution(parentTable);
+        return idPoolCache.sampler(stepExecution, parentTable, idPoolCache.ids(stepExecution, parentTable).size(),
+                distribution.getType(), distribution.getExponent());
+    }
+}
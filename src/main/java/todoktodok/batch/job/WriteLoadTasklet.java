@@ -0,0 +1,228 @@
+package todoktodok.batch.job;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import todoktodok.batch.config.GenerationProperties.WriteLoadProperties;
+import todoktodok.batch.generator.RowHash;
+import todoktodok.batch.metrics.LatencyRecorder;
+import todoktodok.batch.support.OpenLoopScheduler;
+
+// 정해진 처리율로 토론, 댓글, 답글을 한 건씩 각자의 트랜잭션으로 INSERT하며 종류별 지연 분포를 기록한다
+// 작업은 예정 시각마다 가상 스레드로 내보내고, 지연은 예정 시각부터 커밋까지로 잰다
+@Slf4j
+@RequiredArgsConstructor
+public class WriteLoadTasklet implements Tasklet {
+
+    private final List<Target<?>> targets;
+    private final WriteLoadProperties load;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 테이블 이름, 비율, 행 생성기, 쓰기 방식
+    public record Target<T>(String table, int weight,
+                            Function<StepExecution, ItemProcessor<Long, T>> generatorFactory,
+                            ItemWriter<T> writer) {
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        List<Operation<?>> operations = new ArrayList<>();
+        for (Target<?> target : targets) {
+            if (target.weight() > 0) {
+                operations.add(operation(target, stepExecution));
+            }
+        }
+        int[] cumulativeWeights = cumulativeWeights(operations);
+
+        OpenLoopScheduler scheduler = new OpenLoopScheduler(
+                Math.min(load.getStartRate(), load.getRate()), load.getRate(), load.getRampUp());
+        long endNanos = scheduler.startNanos() + load.getDuration().toNanos();
+        long reportIntervalNanos = load.getReportInterval().toNanos();
+        long nextReportNanos = scheduler.startNanos() + reportIntervalNanos;
+        long lastReportNanos = scheduler.startNanos();
+        Semaphore inFlight = new Semaphore(load.getMaxInFlight());
+        log.info("쓰기 부하 시작: 목표 {}건/s (ramp-up {}), {} 동안", load.getRate(), load.getRampUp(), load.getDuration());
+
+        try (HistogramLog histogramLog = HistogramLog.open(load.getHistogramLog(), scheduler.startNanos());
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long sequence = 0; ; sequence++) {
+                long intended = scheduler.awaitNext();
+                if (intended >= endNanos || Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                Operation<?> operation = operations.get(pick(cumulativeWeights, sequence));
+                // 자리가 없으면 여기서 기다리고, 기다린 시간은 예정 시각부터 재는 지연에 그대로 포함된다
+                inFlight.acquire();
+                clients.submit(() -> {
+                    try {
+                        operation.run(intended);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+
+                long now = System.nanoTime();
+                if (now >= nextReportNanos) {
+                    report(operations, histogramLog, now - lastReportNanos);
+                    lastReportNanos = now;
+                    nextReportNanos += reportIntervalNanos;
+                }
+            }
+            clients.close();
+            report(operations, histogramLog, System.nanoTime() - lastReportNanos);
+        }
+
+        long elapsedNanos = System.nanoTime() - scheduler.startNanos();
+        ExecutionContext context = stepExecution.getExecutionContext();
+        for (Operation<?> operation : operations) {
+            Histogram total = operation.latency.total();
+            log.info("[쓰기 부하] {} 전체: {}, 실패 {}건", operation.latency.name(),
+                    LatencyRecorder.summary(total, elapsedNanos), operation.failures.sum());
+            contribution.incrementWriteCount(total.getTotalCount());
+            operation.latency.saveTotal(context, "writeLoad." + operation.latency.name());
+            context.putLong("writeLoad." + operation.latency.name() + ".failures", operation.failures.sum());
+        }
+        return RepeatStatus.FINISHED;
+    }
+
+    private <T> Operation<T> operation(Target<T> target, StepExecution stepExecution) {
+        // 라이브 트래픽처럼 기존 행 번호 뒤에 이어서 만든다 (제목, 댓글 번호가 겹치지 않게)
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + target.table(), Long.class);
+        return new Operation<>(target, target.generatorFactory().apply(stepExecution), new AtomicLong(maxId + 1));
+    }
+
+    private int[] cumulativeWeights(List<Operation<?>> operations) {
+        if (operations.isEmpty()) {
+            throw new IllegalStateException("쓰기 부하 비율이 모두 0입니다.");
+        }
+        int[] cumulative = new int[operations.size()];
+        int sum = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            sum += operations.get(i).target.weight();
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    private int pick(int[] cumulativeWeights, long sequence) {
+        int total = cumulativeWeights[cumulativeWeights.length - 1];
+        int value = (int) (((RowHash.mix(sequence) >>> 32) * total) >>> 32);
+        int index = 0;
+        while (value >= cumulativeWeights[index]) {
+            index++;
+        }
+        return index;
+    }
+
+    private void report(List<Operation<?>> operations, HistogramLog histogramLog, long elapsedNanos) {
+        for (Operation<?> operation : operations) {
+            Histogram interval = operation.latency.interval();
+            histogramLog.write(interval);
+            log.info("[쓰기 부하] {} 구간: {}", operation.latency.name(), LatencyRecorder.summary(interval, elapsedNanos));
+        }
+    }
+
+    private class Operation<T> {
+
+        private final Target<T> target;
+        private final ItemProcessor<Long, T> generator;
+        private final AtomicLong nextIndex;
+        private final LatencyRecorder latency;
+        private final LongAdder failures = new LongAdder();
+
+        private Operation(Target<T> target, ItemProcessor<Long, T> generator, AtomicLong nextIndex) {
+            this.target = target;
+            this.generator = generator;
+            this.nextIndex = nextIndex;
+            this.latency = new LatencyRecorder(target.table());
+        }
+
+        private void run(long intendedNanos) {
+            try {
+                T row = generator.process(nextIndex.getAndIncrement());
+                transactionTemplate.executeWithoutResult(status -> write(row));
+                latency.record(System.nanoTime() - intendedNanos);
+            } catch (Exception e) {
+                failures.increment();
+                log.debug("{} 쓰기 실패: {}", target.table(), e.getMessage());
+            }
+        }
+
+        private void write(T row) {
+            try {
+                target.writer().write(new Chunk<>(List.of(row)));
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    // histogram-log를 지정하면 구간 히스토그램을 HdrHistogram 로그 형식으로 남긴다
+    private static final class HistogramLog implements AutoCloseable {
+
+        private final PrintStream stream;
+        private final HistogramLogWriter writer;
+
+        private HistogramLog(PrintStream stream, long startNanos) {
+            this.stream = stream;
+            this.writer = stream != null ? new HistogramLogWriter(stream) : null;
+            if (writer != null) {
+                long startMillis = System.currentTimeMillis() - (System.nanoTime() - startNanos) / 1_000_000;
+                writer.setBaseTime(startMillis);
+                writer.outputStartTime(startMillis);
+                writer.outputLegend();
+            }
+        }
+
+        private static HistogramLog open(String path, long startNanos) throws FileNotFoundException {
+            if (path == null) {
+                return new HistogramLog(null, startNanos);
+            }
+            File file = new File(path);
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            return new HistogramLog(new PrintStream(file), startNanos);
+        }
+
+        private void write(Histogram interval) {
+            if (writer != null) {
+                writer.outputIntervalHistogram(interval);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package todoktodok.batch.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+
+// 엔티티별 저장 행 수(행당 크기를 알면 추정 디스크 바이트도)와 청크 단계별(생성, 쓰기, 커밋) 소요 시간을 전역 레지스트리에 기록한다
+public class GenerationMetrics {
+
+    private final Counter rows;
+    private final Counter bytes;
+    private final double bytesPerRow;
+    private final Timer generate;
+    private final Timer write;
+    private final Timer commit;
+
+    public GenerationMetrics(String entity) {
+        this(entity, 0);
+    }
+
+    // bytesPerRow는 DatasetSizePlanner가 잰 행당 디스크 크기(데이터 + 인덱스), 0이면 bytes 카운터는 늘지 않는다
+    public GenerationMetrics(String entity, double bytesPerRow) {
+        this.bytesPerRow = bytesPerRow;
+        this.rows = Counter.builder("generation.rows")
+                .description("저장된 행 수")
+                .tag("entity", entity)
+                .register(Metrics.globalRegistry);
+        this.bytes = Counter.builder("generation.bytes")
+                .description("저장된 행의 추정 디스크 크기")
+                .baseUnit("bytes")
+                .tag("entity", entity)
+                .register(Metrics.globalRegistry);
+        this.generate = Timer.builder("generation.generate")
+                .description("청크 하나의 행 번호 읽기와 행 생성 시간")
+                .tag("entity", entity)
+                .register(Metrics.globalRegistry);
+        this.write = Timer.builder("generation.write")
+                .description("청크 하나의 쓰기(saveAll, JDBC 배치, 대량 적재) 시간")
+                .tag("entity", entity)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.99)
+                .register(Metrics.globalRegistry);
+        this.commit = Timer.builder("generation.commit")
+                .description("청크 하나의 커밋 시간")
+                .tag("entity", entity)
+                .register(Metrics.globalRegistry);
+    }
+
+    public void generated(long nanos) {
+        generate.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void written(int rowCount, long nanos) {
+        rows.increment(rowCount);
+        if (bytesPerRow > 0) {
+            bytes.increment(rowCount * bytesPerRow);
+        }
+        write.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void committed(long nanos) {
+        commit.record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,64 @@
+package todoktodok.batch.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.batch.item.ExecutionContext;
+
+// 작업 종류 하나의 지연 시간을 HdrHistogram으로 기록한다. 기록은 여러 스레드에서 잠금 없이 하고,
+// 구간 스냅샷은 보고 스레드 하나에서 꺼내 전체 누적에 더한다
+public class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String name;
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+    private Histogram interval;
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public void record(long nanos) {
+        recorder.recordValue(nanos);
+    }
+
+    // 지난 호출 이후의 구간 히스토그램 (다음 호출 때 재사용되므로 그 전에만 사용한다)
+    public Histogram interval() {
+        interval = recorder.getIntervalHistogram(interval);
+        interval.setTag(name);
+        total.add(interval);
+        return interval;
+    }
+
+    public Histogram total() {
+        return total;
+    }
+
+    // 전체 분포를 StepExecution에 남긴다 (마이크로초)
+    public void saveTotal(ExecutionContext context, String prefix) {
+        context.putLong(prefix + ".count", total.getTotalCount());
+        context.putLong(prefix + ".p50Micros", total.getValueAtPercentile(50.0) / 1_000);
+        context.putLong(prefix + ".p99Micros", total.getValueAtPercentile(99.0) / 1_000);
+        context.putLong(prefix + ".p999Micros", total.getValueAtPercentile(99.9) / 1_000);
+        context.putLong(prefix + ".maxMicros", total.getMaxValue() / 1_000);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public static String summary(Histogram histogram, long elapsedNanos) {
+        long count = histogram.getTotalCount();
+        return String.format("%,d건, %,.1f건/s, p50 %.2fms, p99 %.2fms, p99.9 %.2fms, 최대 %.2fms",
+                count, count * 1e9 / Math.max(1, elapsedNanos),
+                millis(histogram.getValueAtPercentile(50.0)),
+                millis(histogram.getValueAtPercentile(99.0)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,48 @@
+package todoktodok.batch.metrics;
+
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+// 수집 서버 없이 확인할 수 있도록 주기적으로, 그리고 종료할 때 Prometheus 텍스트 형식 파일을 덮어쓴다
+@Slf4j
+public class PrometheusFileReporter implements AutoCloseable {
+
+    private final PrometheusMeterRegistry registry;
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+
+    public PrometheusFileReporter(PrometheusMeterRegistry registry, Path file, Duration interval) {
+        this.registry = registry;
+        this.file = file.toAbsolutePath();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("metrics-file").daemon().factory());
+        scheduler.scheduleAtFixedRate(this::write, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // 읽는 쪽이 쓰다 만 파일을 보지 않도록 임시 파일에 쓴 뒤 이름을 바꾼다
+    public void write() {
+        try {
+            Files.createDirectories(file.getParent());
+            Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(tempFile, registry.scrape());
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("메트릭 파일을 쓰지 못했습니다: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        write();
+        log.info("메트릭 파일: {}", file);
+    }
+}
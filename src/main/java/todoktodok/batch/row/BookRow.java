@@ -0,0 +1,4 @@
+package todoktodok.batch.row;
+
+public record BookRow(String title, CharSequence summary, String author, String publisher, String isbn, String image) {
+}
@@ -0,0 +1,4 @@
+package todoktodok.batch.row;
+
+public record CommentRow(CharSequence content, long memberId, long discussionId) {
+}
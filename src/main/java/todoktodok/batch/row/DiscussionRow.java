@@ -0,0 +1,4 @@
+package todoktodok.batch.row;
+
+public record DiscussionRow(String title, CharSequence content, long viewCount, long memberId, long bookId) {
+}
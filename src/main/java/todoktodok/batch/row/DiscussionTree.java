@@ -0,0 +1,11 @@
+package todoktodok.batch.row;
+
+import java.util.List;
+
+// 토론 하나와 그 아래 댓글, 답글
+// 자식의 부모 ID는 부모를 저장하고 받은 생성 키로 채우므로 생성 시점에는 0이다
+public record DiscussionTree(DiscussionRow discussion, List<CommentTree> comments) {
+
+    public record CommentTree(CommentRow comment, List<ReplyRow> replies) {
+    }
+}
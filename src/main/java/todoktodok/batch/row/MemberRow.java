@@ -0,0 +1,4 @@
+package todoktodok.batch.row;
+
+public record MemberRow(String email, String nickname, String profileImage, String profileMessage) {
+}
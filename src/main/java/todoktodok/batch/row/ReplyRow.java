@@ -0,0 +1,4 @@
+package todoktodok.batch.row;
+
+public record ReplyRow(CharSequence content, long memberId, long commentId) {
+}
@@ -0,0 +1,117 @@
+package todoktodok.batch.support;
+
+import java.time.Duration;
+
+// 배치 쓰기(쓰기 + 커밋) 시간을 재서 다음 배치 크기를 정한다
+// - 시작(slow start): window번 쓰기마다 처리량이 좋아지는 동안 크기를 두 배로 늘린다
+// - 그 뒤: 처리량이 좋아지는 방향으로 increment씩 옮기고(hill climbing), 나빠지면 방향을 바꾼다
+// - 쓰기 한 번이 상한 지연을 넘으면 곧바로 절반으로 줄인다 (AIMD의 multiplicative decrease)
+// 여러 쓰기 스레드가 함께 쓸 수 있도록 모든 메서드를 동기화한다 (배치마다 한 번씩만 호출된다)
+public class AdaptiveBatchSizer {
+
+    private static final double TOLERANCE = 0.05;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long latencyCeilingNanos;
+    private final int window;
+    private final boolean adaptive;
+
+    private int size;
+    private boolean slowStart = true;
+    private int direction = 1;
+    private int increment;
+    private int previousSize;
+    private double previousThroughput;
+    private long windowRows;
+    private long windowNanos;
+    private int windowWrites;
+    private long ceilingBreaches;
+
+    public AdaptiveBatchSizer(int initialSize, int minSize, int maxSize, Duration latencyCeiling, int window) {
+        this(initialSize, minSize, maxSize, latencyCeiling.toNanos(), window, true);
+    }
+
+    private AdaptiveBatchSizer(int initialSize, int minSize, int maxSize, long latencyCeilingNanos, int window,
+                               boolean adaptive) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("배치 크기 범위가 잘못되었습니다: " + minSize + ".." + maxSize);
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.latencyCeilingNanos = latencyCeilingNanos;
+        this.window = Math.max(1, window);
+        this.adaptive = adaptive;
+        this.size = clamp(initialSize);
+        this.previousSize = size;
+        this.increment = Math.max(1, size / 4);
+    }
+
+    // 크기를 바꾸지 않는다 (adaptive-batch가 꺼져 있을 때)
+    public static AdaptiveBatchSizer fixed(int size) {
+        return new AdaptiveBatchSizer(size, 1, Math.max(1, size), Long.MAX_VALUE, 1, false);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long ceilingBreaches() {
+        return ceilingBreaches;
+    }
+
+    public synchronized void record(int rows, long nanos) {
+        if (!adaptive || rows == 0) {
+            return;
+        }
+        if (nanos > latencyCeilingNanos) {
+            ceilingBreaches++;
+            slowStart = false;
+            direction = 1;
+            previousThroughput = 0;
+            increment = Math.max(1, size / 8);
+            size = clamp(size / 2);
+            resetWindow();
+            return;
+        }
+
+        windowRows += rows;
+        windowNanos += nanos;
+        if (++windowWrites < window) {
+            return;
+        }
+        double throughput = (double) windowRows / Math.max(1, windowNanos);
+        resetWindow();
+
+        if (slowStart) {
+            if (throughput >= previousThroughput) {
+                previousThroughput = throughput;
+                previousSize = size;
+                size = clamp(size * 2);
+                return;
+            }
+            // 두 배로 늘린 것이 손해였으면 직전 크기로 돌아가 작은 폭으로 찾는다
+            slowStart = false;
+            increment = Math.max(1, previousSize / 8);
+            size = previousSize;
+            direction = 1;
+            return;
+        }
+
+        if (previousThroughput > 0 && throughput < previousThroughput * (1 - TOLERANCE)) {
+            direction = -direction;
+        }
+        previousThroughput = throughput;
+        size = clamp(size + direction * increment);
+    }
+
+    private void resetWindow() {
+        windowRows = 0;
+        windowNanos = 0;
+        windowWrites = 0;
+    }
+
+    private int clamp(int value) {
+        return Math.max(minSize, Math.min(maxSize, value));
+    }
+}
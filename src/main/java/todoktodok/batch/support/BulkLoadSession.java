@@ -0,0 +1,40 @@
+package todoktodok.batch.support;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+
+// 대량 적재 구간 동안 새로 꺼내는 커넥션마다 외래 키/유니크 검사를 끄도록 표시한다 (MySQL 세션 변수)
+// 구간이 끝나면 세션 변수가 남은 커넥션을 풀에서 교체한다
+@Slf4j
+public class BulkLoadSession {
+
+    private volatile boolean active;
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void begin() {
+        active = true;
+    }
+
+    public void end(DataSource dataSource) {
+        active = false;
+        HikariDataSource hikari = unwrapHikari(dataSource);
+        if (hikari != null && hikari.getHikariPoolMXBean() != null) {
+            hikari.getHikariPoolMXBean().softEvictConnections();
+        } else {
+            log.warn("커넥션 풀을 비우지 못했습니다. 풀에 남은 커넥션은 외래 키 검사가 꺼져 있을 수 있습니다.");
+        }
+    }
+
+    private HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
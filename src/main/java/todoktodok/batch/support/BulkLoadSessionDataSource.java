@@ -0,0 +1,47 @@
+package todoktodok.batch.support;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// 대량 적재 구간이면 커넥션을 내주기 전에 MySQL 세션의 외래 키/유니크 검사를 끈다 (H2는 DB 전역 설정이라 여기서 하지 않는다)
+public class BulkLoadSessionDataSource extends DelegatingDataSource {
+
+    private static final String DISABLE_CHECKS_SQL = "SET foreign_key_checks = 0, unique_checks = 0";
+
+    private final BulkLoadSession session;
+    private volatile Boolean mysql;
+
+    public BulkLoadSessionDataSource(DataSource targetDataSource, BulkLoadSession session) {
+        super(targetDataSource);
+        this.session = session;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return prepare(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return prepare(super.getConnection(username, password));
+    }
+
+    private Connection prepare(Connection connection) throws SQLException {
+        if (session.isActive() && isMySql(connection)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(DISABLE_CHECKS_SQL);
+            }
+        }
+        return connection;
+    }
+
+    private boolean isMySql(Connection connection) throws SQLException {
+        if (mysql == null) {
+            mysql = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        }
+        return mysql;
+    }
+}
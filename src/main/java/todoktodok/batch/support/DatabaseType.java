@@ -0,0 +1,26 @@
+package todoktodok.batch.support;
+
+import java.sql.DatabaseMetaData;
+import javax.sql.DataSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+public enum DatabaseType {
+    MYSQL,
+    H2;
+
+    public static DatabaseType of(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            if ("H2".equalsIgnoreCase(productName)) {
+                return H2;
+            }
+            if ("MySQL".equalsIgnoreCase(productName)) {
+                return MYSQL;
+            }
+            throw new IllegalStateException("지원하지 않는 데이터베이스입니다: " + productName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("데이터베이스 종류를 확인할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package todoktodok.batch.support;
+
+import java.util.Arrays;
+
+// 0 이상의 작은 정수 값(글자 수, 부모당 자식 수)의 빈도를 값마다 한 칸씩 센다
+// 스레드마다 하나씩 쓰고 끝난 뒤 merge로 합친다
+public class IntHistogram {
+
+    private long[] counts = new long[64];
+    private long totalCount;
+    private long sum;
+    private int min = Integer.MAX_VALUE;
+    private int max = -1;
+
+    public void add(int value) {
+        add(value, 1);
+    }
+
+    public void add(int value, long count) {
+        if (value >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(value + 1, counts.length * 2));
+        }
+        counts[value] += count;
+        totalCount += count;
+        sum += (long) value * count;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(IntHistogram other) {
+        for (int value = 0; value <= other.max; value++) {
+            if (other.counts[value] > 0) {
+                add(value, other.counts[value]);
+            }
+        }
+    }
+
+    public long totalCount() {
+        return totalCount;
+    }
+
+    public long sum() {
+        return sum;
+    }
+
+    public long count(int value) {
+        return value < counts.length ? counts[value] : 0;
+    }
+
+    public int min() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public int max() {
+        return Math.max(max, 0);
+    }
+
+    public double mean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    public int percentile(double percentile) {
+        long rank = (long) Math.ceil(totalCount * percentile / 100.0);
+        long seen = 0;
+        for (int value = 0; value <= max; value++) {
+            seen += counts[value];
+            if (seen >= Math.max(rank, 1)) {
+                return value;
+            }
+        }
+        return max();
+    }
+
+    // 값이 큰 쪽부터 전체 항목의 fraction만큼이 차지하는 값 합의 비율 (예: 상위 1% 부모가 가진 자식 비중)
+    public double topShare(double fraction) {
+        if (sum == 0) {
+            return 0;
+        }
+        long remaining = (long) Math.ceil(totalCount * fraction);
+        long topSum = 0;
+        for (int value = max; value >= 0 && remaining > 0; value--) {
+            long taken = Math.min(remaining, counts[value]);
+            topSum += taken * value;
+            remaining -= taken;
+        }
+        return (double) topSum / sum;
+    }
+}
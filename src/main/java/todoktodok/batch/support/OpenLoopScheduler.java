@@ -0,0 +1,49 @@
+package todoktodok.batch.support;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+// 앞선 작업의 완료와 관계없이 목표 처리율로 정해진 예정 시각마다 다음 작업을 내보낸다 (open-loop)
+// 지연은 실제 시작이 아니라 예정 시각부터 재야 작업이 밀린 동안의 대기 시간이 빠지지 않는다 (coordinated omission 보정)
+public class OpenLoopScheduler {
+
+    private final double startRate;
+    private final double rate;
+    private final long rampUpNanos;
+    private final long startNanos;
+    private long nextOffsetNanos;
+
+    // ramp-up 동안 startRate에서 rate까지 선형으로 올린다
+    public OpenLoopScheduler(double startRate, double rate, Duration rampUp) {
+        if (startRate <= 0 || rate <= 0) {
+            throw new IllegalArgumentException("처리율은 0보다 커야 합니다: " + startRate + ", " + rate);
+        }
+        this.startRate = startRate;
+        this.rate = rate;
+        this.rampUpNanos = rampUp.toNanos();
+        this.startNanos = System.nanoTime();
+    }
+
+    public long startNanos() {
+        return startNanos;
+    }
+
+    // 다음 작업의 예정 시각(System.nanoTime 기준)까지 기다린 뒤 그 시각을 돌려준다. 이미 지났으면 바로 돌려준다
+    public long awaitNext() {
+        long intended = startNanos + nextOffsetNanos;
+        nextOffsetNanos += (long) (1_000_000_000L / rateAt(nextOffsetNanos));
+
+        long remaining;
+        while ((remaining = intended - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+        return intended;
+    }
+
+    private double rateAt(long offsetNanos) {
+        if (offsetNanos >= rampUpNanos) {
+            return rate;
+        }
+        return startRate + (rate - startRate) * offsetNanos / rampUpNanos;
+    }
+}
@@ -0,0 +1,229 @@
+package todoktodok.batch.support;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.DatabaseMetaDataCallback;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+// DatabaseMetaData로 테이블의 외래 키와 (유니크가 아닌) 보조 인덱스를 읽고, 삭제/재생성 SQL을 만든다
+// 같은 컬럼과 기본 키를 가진 빈 테이블을 만드는 SQL도 만든다 (resetDataJob의 shadow 모드)
+// 제약 조건을 지운 채 적재한 뒤의 부모 없는 행 검사와 재생성 DDL 실행은 bulk-session과 shadow 모드가 함께 쓴다
+public final class TableConstraints {
+
+    public record ForeignKey(String table, String name, List<String> columns, String referencedTable,
+                             List<String> referencedColumns) {
+
+        public String dropSql(DatabaseType databaseType) {
+            return databaseType == DatabaseType.MYSQL
+                    ? "ALTER TABLE " + table + " DROP FOREIGN KEY " + name
+                    : "ALTER TABLE " + table + " DROP CONSTRAINT " + name;
+        }
+
+        public String createSql() {
+            return "ALTER TABLE " + table + " ADD CONSTRAINT " + name + " FOREIGN KEY (" + String.join(", ", columns)
+                    + ") REFERENCES " + referencedTable + " (" + String.join(", ", referencedColumns) + ")";
+        }
+
+        // 부모 행이 없는 자식 행 수를 세는 부분 쿼리
+        public String orphanCountSql() {
+            List<String> joins = new ArrayList<>();
+            for (int i = 0; i < columns.size(); i++) {
+                joins.add("p." + referencedColumns.get(i) + " = c." + columns.get(i));
+            }
+            return "SELECT '" + table + "." + String.join(",", columns) + "' AS fk, COUNT(*) AS orphans FROM " + table
+                    + " c WHERE c." + columns.get(0) + " IS NOT NULL AND NOT EXISTS (SELECT 1 FROM " + referencedTable
+                    + " p WHERE " + String.join(" AND ", joins) + ")";
+        }
+    }
+
+    public record Index(String table, String name, List<String> columns) {
+
+        public String dropSql(DatabaseType databaseType) {
+            return databaseType == DatabaseType.MYSQL
+                    ? "DROP INDEX " + name + " ON " + table
+                    : "DROP INDEX " + name;
+        }
+
+        public String createSql() {
+            return "CREATE INDEX " + name + " ON " + table + " (" + String.join(", ", columns) + ")";
+        }
+    }
+
+    public record Column(String name, String typeName, int size, boolean nullable, String defaultValue,
+                         boolean autoIncrement) {
+
+        // 이 프로젝트의 컬럼은 BIGINT, 문자열, 시각뿐이므로 길이는 문자열에만 붙인다
+        public String definition() {
+            StringBuilder sql = new StringBuilder(name).append(' ').append(typeName);
+            if (typeName.contains("CHAR")) {
+                sql.append('(').append(size).append(')');
+            }
+            if (autoIncrement) {
+                sql.append(" GENERATED BY DEFAULT AS IDENTITY");
+            } else if (defaultValue != null) {
+                sql.append(" DEFAULT ").append(defaultValue);
+            }
+            if (!nullable) {
+                sql.append(" NOT NULL");
+            }
+            return sql.toString();
+        }
+    }
+
+    private TableConstraints() {
+    }
+
+    // 외래 키와 보조 인덱스 없이 컬럼과 기본 키만 같은 빈 테이블을 만든다
+    // MySQL은 CREATE TABLE ... LIKE를 쓰고 (보조 인덱스까지 복사된다), H2는 LIKE가 없으므로 메타데이터로 DDL을 만든다
+    public static String copyTableSql(DatabaseType databaseType, DataSource dataSource, String table, String newTable) {
+        if (databaseType == DatabaseType.MYSQL) {
+            return "CREATE TABLE " + newTable + " LIKE " + table;
+        }
+        List<String> definitions = new ArrayList<>(columns(dataSource, table).stream().map(Column::definition).toList());
+        definitions.add("PRIMARY KEY (" + String.join(", ", primaryKey(dataSource, table)) + ")");
+        return "CREATE TABLE " + newTable + " (" + String.join(", ", definitions) + ")";
+    }
+
+    public static boolean exists(DataSource dataSource, String table) {
+        return extract(dataSource, metaData -> {
+            try (ResultSet rs = metaData.getTables(catalog(metaData), schema(metaData), identifier(metaData, table),
+                    new String[]{"TABLE", "BASE TABLE"})) {
+                return rs.next();
+            }
+        });
+    }
+
+    public static List<Column> columns(DataSource dataSource, String table) {
+        return extract(dataSource, metaData -> {
+            List<Column> columns = new ArrayList<>();
+            try (ResultSet rs = metaData.getColumns(catalog(metaData), schema(metaData), identifier(metaData, table),
+                    null)) {
+                while (rs.next()) {
+                    columns.add(new Column(lower(rs, "COLUMN_NAME"), rs.getString("TYPE_NAME"),
+                            rs.getInt("COLUMN_SIZE"), rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls,
+                            rs.getString("COLUMN_DEF"), "YES".equals(rs.getString("IS_AUTOINCREMENT"))));
+                }
+            }
+            return columns;
+        });
+    }
+
+    public static List<String> primaryKey(DataSource dataSource, String table) {
+        return extract(dataSource, metaData -> {
+            Map<Short, String> columns = new TreeMap<>();
+            try (ResultSet rs = metaData.getPrimaryKeys(catalog(metaData), schema(metaData), identifier(metaData, table))) {
+                while (rs.next()) {
+                    columns.put(rs.getShort("KEY_SEQ"), lower(rs, "COLUMN_NAME"));
+                }
+            }
+            return new ArrayList<>(columns.values());
+        });
+    }
+
+    public static List<ForeignKey> foreignKeys(DataSource dataSource, String table) {
+        return extract(dataSource, metaData -> {
+            Map<String, ForeignKey> foreignKeys = new LinkedHashMap<>();
+            try (ResultSet rs = metaData.getImportedKeys(catalog(metaData), schema(metaData), identifier(metaData, table))) {
+                while (rs.next()) {
+                    ForeignKey foreignKey = foreignKeys.computeIfAbsent(rs.getString("FK_NAME"), name -> new ForeignKey(
+                            table, name, new ArrayList<>(), lower(rs, "PKTABLE_NAME"), new ArrayList<>()));
+                    foreignKey.columns().add(lower(rs, "FKCOLUMN_NAME"));
+                    foreignKey.referencedColumns().add(lower(rs, "PKCOLUMN_NAME"));
+                }
+            }
+            return new ArrayList<>(foreignKeys.values());
+        });
+    }
+
+    // 유니크 인덱스(기본 키 포함)는 정합성을 지키므로 대상에서 제외한다
+    public static List<Index> secondaryIndexes(DataSource dataSource, String table) {
+        return extract(dataSource, metaData -> {
+            Map<String, Index> indexes = new LinkedHashMap<>();
+            try (ResultSet rs = metaData.getIndexInfo(catalog(metaData), schema(metaData), identifier(metaData, table),
+                    false, false)) {
+                while (rs.next()) {
+                    if (rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic || !rs.getBoolean("NON_UNIQUE")) {
+                        continue;
+                    }
+                    indexes.computeIfAbsent(rs.getString("INDEX_NAME"), name -> new Index(table, name, new ArrayList<>()))
+                            .columns().add(lower(rs, "COLUMN_NAME"));
+                }
+            }
+            return new ArrayList<>(indexes.values());
+        });
+    }
+
+    // 외래 키마다 부모 없는 행 수를 세는 쿼리를 UNION ALL로 묶어 한 번에 실행한다 (외래 키가 없으면 빈 문자열)
+    public static String orphanCountSql(List<ForeignKey> foreignKeys) {
+        return foreignKeys.stream()
+                .map(ForeignKey::orphanCountSql)
+                .collect(Collectors.joining(" UNION ALL "));
+    }
+
+    // orphanCountSql 결과에서 부모 없는 행이 있는 외래 키만 "테이블.컬럼 N건"으로 돌려준다
+    public static List<String> orphanViolations(DataSource dataSource, String orphanCountSql) {
+        if (orphanCountSql.isEmpty()) {
+            return List.of();
+        }
+        return new JdbcTemplate(dataSource).query(orphanCountSql, (rs, rowNum) -> rs.getLong("orphans") > 0
+                        ? rs.getString("fk") + " " + rs.getLong("orphans") + "건"
+                        : null)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // DDL은 롤백되지 않으므로 하나를 실행할 때마다 남은 목록을 remaining으로 넘긴다
+    // 호출하는 쪽이 그 목록을 ExecutionContext에 저장해 두면 중간에 실패해도 재시작할 때 남은 것만 실행한다
+    public static void executeRemaining(DataSource dataSource, List<String> statements,
+                                        Consumer<List<String>> remaining) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<String> rest = new ArrayList<>(statements);
+        while (!rest.isEmpty()) {
+            jdbcTemplate.execute(rest.get(0));
+            rest.remove(0);
+            remaining.accept(new ArrayList<>(rest));
+        }
+    }
+
+    private static <T> T extract(DataSource dataSource, DatabaseMetaDataCallback<T> callback) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, callback);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("테이블 메타데이터를 읽을 수 없습니다.", e);
+        }
+    }
+
+    private static String catalog(DatabaseMetaData metaData) throws SQLException {
+        return metaData.getConnection().getCatalog();
+    }
+
+    private static String schema(DatabaseMetaData metaData) throws SQLException {
+        return metaData.getConnection().getSchema();
+    }
+
+    // H2는 따옴표 없는 이름을 대문자로 저장한다
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase() : name;
+    }
+
+    private static String lower(ResultSet rs, String column) {
+        try {
+            return rs.getString(column).toLowerCase();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package todoktodok.batch.writer;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import todoktodok.batch.entity.Book;
+import todoktodok.batch.repository.BookRepository;
+import todoktodok.batch.row.BookRow;
+
+@RequiredArgsConstructor
+public class BookJpaWriter implements ItemWriter<BookRow> {
+
+    private final BookRepository bookRepository;
+
+    @Override
+    public void write(Chunk<? extends BookRow> chunk) {
+        List<Book> books = new ArrayList<>(chunk.size());
+        for (BookRow row : chunk) {
+            books.add(Book.builder()
+                    .title(row.title())
+                    .summary(row.summary().toString())
+                    .author(row.author())
+                    .publisher(row.publisher())
+                    .isbn(row.isbn())
+                    .image(row.image())
+                    .build());
+        }
+        bookRepository.saveAll(books);
+    }
+}
@@ -0,0 +1,62 @@
+package todoktodok.batch.writer;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemWriter;
+
+// 청크를 임시 CSV 파일로 쓴 뒤 같은 트랜잭션 안에서 대량 적재한다. 커밋 단위가 청크와 같으므로 재시작해도 중복되지 않는다
+@RequiredArgsConstructor
+public class BulkLoadItemWriter<T> implements ItemWriter<T> {
+
+    public static final String BYTES_KEY = "bulkLoad.bytes";
+    public static final String LOAD_MILLIS_KEY = "bulkLoad.loadMillis";
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final RowTable<T> table;
+    private final BulkLoader bulkLoader;
+    private final Path directory;
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        Path file = Files.createTempFile(directory, table.name() + "-", ".csv");
+        try {
+            long bytes;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+                 CsvRowWriter csv = new CsvRowWriter(channel)) {
+                String now = LocalDateTime.now().format(TIMESTAMP_FORMAT);
+                for (T row : chunk) {
+                    table.encoder().encode(row, csv);
+                    csv.field(now);
+                    csv.field(now);
+                    csv.endRow();
+                }
+                bytes = csv.bytesWritten();
+            }
+
+            long startedAt = System.nanoTime();
+            bulkLoader.load(table.name(), table.columnsWithAudit(), file);
+            record(bytes, (System.nanoTime() - startedAt) / 1_000_000);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // 파티션별 누적값을 스텝 ExecutionContext에 남겨 PartitionThroughputListener가 출력하게 한다
+    private void record(long bytes, long loadMillis) {
+        if (StepSynchronizationManager.getContext() == null) {
+            return;
+        }
+        ExecutionContext context = StepSynchronizationManager.getContext().getStepExecution().getExecutionContext();
+        context.putLong(BYTES_KEY, context.getLong(BYTES_KEY, 0) + bytes);
+        context.putLong(LOAD_MILLIS_KEY, context.getLong(LOAD_MILLIS_KEY, 0) + loadMillis);
+    }
+}
@@ -0,0 +1,60 @@
+package todoktodok.batch.writer;
+
+import java.nio.file.Path;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import todoktodok.batch.support.DatabaseType;
+
+// CSV 파일을 DB 고유의 대량 적재 명령으로 읽어 들인다 (현재 트랜잭션의 커넥션 사용)
+@Component
+public class BulkLoader {
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile DatabaseType databaseType;
+
+    public BulkLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    // 적재된 행 수를 반환한다
+    public int load(String table, Iterable<String> columns, Path file) {
+        String columnList = String.join(",", columns);
+        String path = file.toAbsolutePath().toString().replace('\\', '/');
+
+        if (databaseType() == DatabaseType.MYSQL) {
+            return jdbcTemplate.update("LOAD DATA LOCAL INFILE '" + path + "' INTO TABLE " + table
+                    + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY ''"
+                    + " LINES TERMINATED BY '\\n' (" + columnList + ")");
+        }
+        // 컬럼 이름을 넘기면 CSVREAD는 첫 줄도 데이터로 읽는다
+        return jdbcTemplate.update("INSERT INTO " + table + " (" + columnList + ") SELECT * FROM CSVREAD('" + path
+                + "', '" + columnList + "', 'charset=UTF-8 fieldSeparator=,')");
+    }
+
+    // id를 직접 넣어 적재한 뒤 다음 자동 증가 값을 맞춘다 (MySQL은 AUTO_INCREMENT가 자동으로 따라온다)
+    public void restartIdentity(String table) {
+        if (databaseType() == DatabaseType.MYSQL) {
+            return;
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (maxId + 1));
+    }
+
+    // 빈을 만들 때 커넥션을 열지 않도록 처음 적재할 때 판별한다 (bulk-load를 쓰지 않는 실행은 DB에 묻지 않는다)
+    private DatabaseType databaseType() {
+        DatabaseType resolved = databaseType;
+        if (resolved == null) {
+            synchronized (this) {
+                resolved = databaseType;
+                if (resolved == null) {
+                    resolved = DatabaseType.of(dataSource);
+                    databaseType = resolved;
+                }
+            }
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,33 @@
+package todoktodok.batch.writer;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import todoktodok.batch.entity.Comment;
+import todoktodok.batch.entity.Discussion;
+import todoktodok.batch.entity.Member;
+import todoktodok.batch.repository.CommentRepository;
+import todoktodok.batch.row.CommentRow;
+
+@RequiredArgsConstructor
+public class CommentJpaWriter implements ItemWriter<CommentRow> {
+
+    private final EntityManager entityManager;
+    private final CommentRepository commentRepository;
+
+    @Override
+    public void write(Chunk<? extends CommentRow> chunk) {
+        List<Comment> comments = new ArrayList<>(chunk.size());
+        for (CommentRow row : chunk) {
+            comments.add(Comment.builder()
+                    .content(row.content().toString())
+                    .member(entityManager.getReference(Member.class, row.memberId()))
+                    .discussion(entityManager.getReference(Discussion.class, row.discussionId()))
+                    .build());
+        }
+        commentRepository.saveAll(comments);
+    }
+}
@@ -0,0 +1,133 @@
+package todoktodok.batch.writer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import todoktodok.batch.generator.GeneratedText;
+
+// 문자열을 중간 byte[] 없이 UTF-8로 인코딩해 재사용 버퍼에 쓰고, 버퍼가 차면 채널로 내보낸다
+// GeneratedText 본문은 조각마다 미리 인코딩해 둔 바이트를 복사한다
+public class CsvRowWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private boolean firstField = true;
+    private long bytesWritten;
+
+    public CsvRowWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public void field(CharSequence value) throws IOException {
+        separator();
+        put((byte) '"');
+        if (value instanceof GeneratedText text) {
+            chars(text.lead());
+            for (int i = 0; i < text.fragmentCount(); i++) {
+                bytes(text.encodedFragment(i));
+            }
+            chars(text.tail());
+        } else {
+            chars(value);
+        }
+        put((byte) '"');
+    }
+
+    public void field(long value) throws IOException {
+        separator();
+        ensureRemaining(20);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int start = buffer.position();
+        do {
+            buffer.put((byte) ('0' + value % 10));
+            value /= 10;
+        } while (value > 0);
+        for (int left = start, right = buffer.position() - 1; left < right; left++, right--) {
+            byte temp = buffer.get(left);
+            buffer.put(left, buffer.get(right));
+            buffer.put(right, temp);
+        }
+    }
+
+    public void endRow() throws IOException {
+        put((byte) '\n');
+        firstField = true;
+    }
+
+    public long bytesWritten() {
+        return bytesWritten + buffer.position();
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private void separator() throws IOException {
+        if (!firstField) {
+            put((byte) ',');
+        }
+        firstField = false;
+    }
+
+    private void chars(CharSequence value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            ensureRemaining(4);
+            if (c == '"') {
+                buffer.put((byte) '"').put((byte) '"');
+            } else if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)))
+                        .put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)))
+                        .put((byte) (0x80 | ((codePoint >> 12) & 0x3F)))
+                        .put((byte) (0x80 | ((codePoint >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)))
+                        .put((byte) (0x80 | ((c >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    // 미리 인코딩된 본문 조각은 이스케이프할 문자가 없으므로 그대로 복사한다
+    private void bytes(byte[] value) throws IOException {
+        int offset = 0;
+        while (offset < value.length) {
+            ensureRemaining(1);
+            int length = Math.min(buffer.remaining(), value.length - offset);
+            buffer.put(value, offset, length);
+            offset += length;
+        }
+    }
+
+    private void put(byte value) throws IOException {
+        ensureRemaining(1);
+        buffer.put(value);
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package todoktodok.batch.writer;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import todoktodok.batch.entity.Book;
+import todoktodok.batch.entity.Discussion;
+import todoktodok.batch.entity.Member;
+import todoktodok.batch.repository.DiscussionRepository;
+import todoktodok.batch.row.DiscussionRow;
+
+@RequiredArgsConstructor
+public class DiscussionJpaWriter implements ItemWriter<DiscussionRow> {
+
+    private final EntityManager entityManager;
+    private final DiscussionRepository discussionRepository;
+
+    @Override
+    public void write(Chunk<? extends DiscussionRow> chunk) {
+        List<Discussion> discussions = new ArrayList<>(chunk.size());
+        for (DiscussionRow row : chunk) {
+            discussions.add(Discussion.builder()
+                    .title(row.title())
+                    .content(row.content().toString())
+                    .viewCount(row.viewCount())
+                    .member(entityManager.getReference(Member.class, row.memberId()))
+                    .book(entityManager.getReference(Book.class, row.bookId()))
+                    .build());
+        }
+        discussionRepository.saveAll(discussions);
+    }
+}
@@ -0,0 +1,104 @@
+package todoktodok.batch.writer;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import todoktodok.batch.row.CommentRow;
+import todoktodok.batch.row.DiscussionTree;
+import todoktodok.batch.row.DiscussionTree.CommentTree;
+import todoktodok.batch.row.ReplyRow;
+
+// 청크의 토론 → 댓글 → 답글을 차례로 JDBC 배치 INSERT한다
+// 자식의 외래 키는 바로 앞 배치 INSERT가 돌려준 생성 키로 채우므로 부모 테이블을 다시 읽지 않고, 메모리는 청크 크기만큼만 쓴다
+public class DiscussionTreeWriter implements ItemWriter<DiscussionTree> {
+
+    public static final String COMMENTS_KEY = "tree.comments";
+    public static final String REPLIES_KEY = "tree.replies";
+
+    private static final String[] ID_COLUMN = {"id"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DiscussionTreeWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void write(Chunk<? extends DiscussionTree> chunk) {
+        List<? extends DiscussionTree> trees = chunk.getItems();
+        long[] discussionIds = insert(RowStatements.DISCUSSION, trees.stream().map(DiscussionTree::discussion).toList(),
+                true);
+
+        List<CommentRow> comments = new ArrayList<>();
+        List<List<ReplyRow>> repliesByComment = new ArrayList<>();
+        for (int i = 0; i < trees.size(); i++) {
+            for (CommentTree comment : trees.get(i).comments()) {
+                comments.add(new CommentRow(comment.comment().content(), comment.comment().memberId(),
+                        discussionIds[i]));
+                repliesByComment.add(comment.replies());
+            }
+        }
+        long[] commentIds = insert(RowStatements.COMMENT, comments, true);
+
+        List<ReplyRow> replies = new ArrayList<>();
+        for (int i = 0; i < repliesByComment.size(); i++) {
+            for (ReplyRow reply : repliesByComment.get(i)) {
+                replies.add(new ReplyRow(reply.content(), reply.memberId(), commentIds[i]));
+            }
+        }
+        insert(RowStatements.REPLY, replies, false);
+        record(comments.size(), replies.size());
+    }
+
+    // 스텝 트랜잭션의 커넥션으로 실행하므로 세 테이블이 한 번에 커밋되거나 롤백된다
+    private <T> long[] insert(RowStatement<T> statement, List<T> rows, boolean returnIds) {
+        if (rows.isEmpty()) {
+            return new long[0];
+        }
+        return jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+            try (PreparedStatement ps = returnIds
+                    ? connection.prepareStatement(statement.insertSql(), ID_COLUMN)
+                    : connection.prepareStatement(statement.insertSql())) {
+                for (T row : rows) {
+                    statement.bind(row, ps);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                if (!returnIds) {
+                    return new long[0];
+                }
+
+                long[] ids = new long[rows.size()];
+                int count = 0;
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next() && count < ids.length) {
+                        ids[count++] = keys.getLong(1);
+                    }
+                }
+                if (count != ids.length) {
+                    throw new IllegalStateException(statement.table() + " 생성 키를 " + ids.length + "개 중 " + count
+                            + "개만 받았습니다.");
+                }
+                return ids;
+            }
+        });
+    }
+
+    // 파티션별 누적값을 스텝 ExecutionContext에 남겨 PartitionThroughputListener가 출력하게 한다
+    private void record(long comments, long replies) {
+        if (StepSynchronizationManager.getContext() == null) {
+            return;
+        }
+        ExecutionContext context = StepSynchronizationManager.getContext().getStepExecution().getExecutionContext();
+        context.putLong(COMMENTS_KEY, context.getLong(COMMENTS_KEY, 0) + comments);
+        context.putLong(REPLIES_KEY, context.getLong(REPLIES_KEY, 0) + replies);
+    }
+}
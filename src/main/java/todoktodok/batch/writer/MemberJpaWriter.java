@@ -0,0 +1,30 @@
+package todoktodok.batch.writer;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import todoktodok.batch.entity.Member;
+import todoktodok.batch.repository.MemberRepository;
+import todoktodok.batch.row.MemberRow;
+
+@RequiredArgsConstructor
+public class MemberJpaWriter implements ItemWriter<MemberRow> {
+
+    private final MemberRepository memberRepository;
+
+    @Override
+    public void write(Chunk<? extends MemberRow> chunk) {
+        List<Member> members = new ArrayList<>(chunk.size());
+        for (MemberRow row : chunk) {
+            members.add(Member.builder()
+                    .email(row.email())
+                    .nickname(row.nickname())
+                    .profileImage(row.profileImage())
+                    .profileMessage(row.profileMessage())
+                    .build());
+        }
+        memberRepository.saveAll(members);
+    }
+}
@@ -0,0 +1,33 @@
+package todoktodok.batch.writer;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import todoktodok.batch.entity.Comment;
+import todoktodok.batch.entity.Member;
+import todoktodok.batch.entity.Reply;
+import todoktodok.batch.repository.ReplyRepository;
+import todoktodok.batch.row.ReplyRow;
+
+@RequiredArgsConstructor
+public class ReplyJpaWriter implements ItemWriter<ReplyRow> {
+
+    private final EntityManager entityManager;
+    private final ReplyRepository replyRepository;
+
+    @Override
+    public void write(Chunk<? extends ReplyRow> chunk) {
+        List<Reply> replies = new ArrayList<>(chunk.size());
+        for (ReplyRow row : chunk) {
+            replies.add(Reply.builder()
+                    .content(row.content().toString())
+                    .member(entityManager.getReference(Member.class, row.memberId()))
+                    .comment(entityManager.getReference(Comment.class, row.commentId()))
+                    .build());
+        }
+        replyRepository.saveAll(replies);
+    }
+}
@@ -0,0 +1,48 @@
+package todoktodok.batch.writer;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// JDBC 배치 INSERT에서 사용하는 테이블 이름, 컬럼 순서, 파라미터 설정 규칙
+// JDBC 쓰기는 AuditingEntityListener를 거치지 않으므로 created_at, modified_at을 직접 채운다
+public record RowStatement<T>(String table, List<String> columns, ParameterSetter<T> setter) {
+
+    @FunctionalInterface
+    public interface ParameterSetter<T> {
+
+        void set(T row, PreparedStatement ps) throws SQLException;
+    }
+
+    public String insertSql() {
+        return insertSql(false);
+    }
+
+    // 여러 DB에 나눠 쓸 때는 ID를 DB가 아니라 행 번호로 정한다 (id는 마지막 파라미터)
+    public String insertWithIdSql() {
+        return insertSql(true);
+    }
+
+    // 컬럼과 감사 컬럼을 채우고, 이어서 채울 파라미터 위치를 돌려준다
+    public int bind(T row, PreparedStatement ps) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        setter.set(row, ps);
+        ps.setTimestamp(columns.size() + 1, now);
+        ps.setTimestamp(columns.size() + 2, now);
+        return columns.size() + 3;
+    }
+
+    private String insertSql(boolean withId) {
+        List<String> allColumns = new ArrayList<>(columns);
+        allColumns.addAll(RowTable.AUDIT_COLUMNS);
+        if (withId) {
+            allColumns.add("id");
+        }
+        return "INSERT INTO " + table + " (" + String.join(", ", allColumns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(allColumns.size(), "?")) + ")";
+    }
+}
@@ -0,0 +1,60 @@
+package todoktodok.batch.writer;
+
+import java.util.List;
+import todoktodok.batch.row.BookRow;
+import todoktodok.batch.row.CommentRow;
+import todoktodok.batch.row.DiscussionRow;
+import todoktodok.batch.row.MemberRow;
+import todoktodok.batch.row.ReplyRow;
+
+public final class RowStatements {
+
+    public static final RowStatement<MemberRow> MEMBER = new RowStatement<>("member",
+            List.of("email", "nickname", "profile_image", "profile_message"),
+            (row, ps) -> {
+                ps.setString(1, row.email());
+                ps.setString(2, row.nickname());
+                ps.setString(3, row.profileImage());
+                ps.setString(4, row.profileMessage());
+            });
+
+    public static final RowStatement<BookRow> BOOK = new RowStatement<>("book",
+            List.of("title", "summary", "author", "publisher", "isbn", "image"),
+            (row, ps) -> {
+                ps.setString(1, row.title());
+                ps.setString(2, row.summary().toString());
+                ps.setString(3, row.author());
+                ps.setString(4, row.publisher());
+                ps.setString(5, row.isbn());
+                ps.setString(6, row.image());
+            });
+
+    public static final RowStatement<DiscussionRow> DISCUSSION = new RowStatement<>("discussion",
+            List.of("title", "content", "view_count", "member_id", "book_id"),
+            (row, ps) -> {
+                ps.setString(1, row.title());
+                ps.setString(2, row.content().toString());
+                ps.setLong(3, row.viewCount());
+                ps.setLong(4, row.memberId());
+                ps.setLong(5, row.bookId());
+            });
+
+    public static final RowStatement<CommentRow> COMMENT = new RowStatement<>("comment",
+            List.of("content", "member_id", "discussion_id"),
+            (row, ps) -> {
+                ps.setString(1, row.content().toString());
+                ps.setLong(2, row.memberId());
+                ps.setLong(3, row.discussionId());
+            });
+
+    public static final RowStatement<ReplyRow> REPLY = new RowStatement<>("reply",
+            List.of("content", "member_id", "comment_id"),
+            (row, ps) -> {
+                ps.setString(1, row.content().toString());
+                ps.setLong(2, row.memberId());
+                ps.setLong(3, row.commentId());
+            });
+
+    private RowStatements() {
+    }
+}
@@ -0,0 +1,22 @@
+package todoktodok.batch.writer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+// 파일 기반 쓰기(CSV 적재, 덤프)에서 사용하는 테이블 이름, 컬럼 순서, 행 인코딩 규칙
+public record RowTable<T>(String name, List<String> columns, CsvEncoder<T> encoder) {
+
+    // 감사 컬럼은 파일에 쓰는 쪽에서 공통으로 붙인다
+    public static final List<String> AUDIT_COLUMNS = List.of("created_at", "modified_at");
+
+    public List<String> columnsWithAudit() {
+        return Stream.concat(columns.stream(), AUDIT_COLUMNS.stream()).toList();
+    }
+
+    @FunctionalInterface
+    public interface CsvEncoder<T> {
+
+        void encode(T row, CsvRowWriter csv) throws IOException;
+    }
+}
@@ -0,0 +1,63 @@
+package todoktodok.batch.writer;
+
+import java.util.List;
+import todoktodok.batch.row.BookRow;
+import todoktodok.batch.row.CommentRow;
+import todoktodok.batch.row.DiscussionRow;
+import todoktodok.batch.row.MemberRow;
+import todoktodok.batch.row.ReplyRow;
+
+public final class RowTables {
+
+    public static final RowTable<MemberRow> MEMBER = new RowTable<>("member",
+            List.of("email", "nickname", "profile_image", "profile_message"),
+            (row, csv) -> {
+                csv.field(row.email());
+                csv.field(row.nickname());
+                csv.field(row.profileImage());
+                csv.field(row.profileMessage());
+            });
+
+    public static final RowTable<BookRow> BOOK = new RowTable<>("book",
+            List.of("title", "summary", "author", "publisher", "isbn", "image"),
+            (row, csv) -> {
+                csv.field(row.title());
+                csv.field(row.summary());
+                csv.field(row.author());
+                csv.field(row.publisher());
+                csv.field(row.isbn());
+                csv.field(row.image());
+            });
+
+    public static final RowTable<DiscussionRow> DISCUSSION = new RowTable<>("discussion",
+            List.of("title", "content", "view_count", "member_id", "book_id"),
+            (row, csv) -> {
+                csv.field(row.title());
+                csv.field(row.content());
+                csv.field(row.viewCount());
+                csv.field(row.memberId());
+                csv.field(row.bookId());
+            });
+
+    public static final RowTable<CommentRow> COMMENT = new RowTable<>("comment",
+            List.of("content", "member_id", "discussion_id"),
+            (row, csv) -> {
+                csv.field(row.content());
+                csv.field(row.memberId());
+                csv.field(row.discussionId());
+            });
+
+    public static final RowTable<ReplyRow> REPLY = new RowTable<>("reply",
+            List.of("content", "member_id", "comment_id"),
+            (row, csv) -> {
+                csv.field(row.content());
+                csv.field(row.memberId());
+                csv.field(row.commentId());
+            });
+
+    // 부모 테이블부터의 적재 순서
+    public static final List<RowTable<?>> ALL = List.of(MEMBER, BOOK, DISCUSSION, COMMENT, REPLY);
+
+    private RowTables() {
+    }
+}
@@ -0,0 +1,89 @@
+package todoktodok.batch.writer;
+
+import jakarta.persistence.EntityManager;
+import java.nio.file.Path;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import todoktodok.batch.config.GenerationProperties;
+import todoktodok.batch.repository.BookRepository;
+import todoktodok.batch.repository.CommentRepository;
+import todoktodok.batch.repository.DiscussionRepository;
+import todoktodok.batch.repository.MemberRepository;
+import todoktodok.batch.repository.ReplyRepository;
+import todoktodok.batch.row.BookRow;
+import todoktodok.batch.row.CommentRow;
+import todoktodok.batch.row.DiscussionRow;
+import todoktodok.batch.row.MemberRow;
+import todoktodok.batch.row.ReplyRow;
+
+@Configuration
+@RequiredArgsConstructor
+public class RowWriterConfig {
+
+    private final GenerationProperties properties;
+    private final DataSource dataSource;
+    private final EntityManager entityManager;
+    private final BulkLoader bulkLoader;
+
+    @Bean
+    public ItemWriter<MemberRow> memberWriter(MemberRepository memberRepository) {
+        return switch (properties.getMember().getWriteMode()) {
+            case JPA -> new MemberJpaWriter(memberRepository);
+            case JDBC -> jdbcWriter(RowStatements.MEMBER);
+            case BULK_LOAD -> new BulkLoadItemWriter<>(RowTables.MEMBER, bulkLoader, bulkLoadDirectory());
+        };
+    }
+
+    @Bean
+    public ItemWriter<BookRow> bookWriter(BookRepository bookRepository) {
+        return switch (properties.getBook().getWriteMode()) {
+            case JPA -> new BookJpaWriter(bookRepository);
+            case JDBC -> jdbcWriter(RowStatements.BOOK);
+            case BULK_LOAD -> new BulkLoadItemWriter<>(RowTables.BOOK, bulkLoader, bulkLoadDirectory());
+        };
+    }
+
+    @Bean
+    public ItemWriter<DiscussionRow> discussionWriter(DiscussionRepository discussionRepository) {
+        return switch (properties.getDiscussion().getWriteMode()) {
+            case JPA -> new DiscussionJpaWriter(entityManager, discussionRepository);
+            case JDBC -> jdbcWriter(RowStatements.DISCUSSION);
+            case BULK_LOAD -> new BulkLoadItemWriter<>(RowTables.DISCUSSION, bulkLoader, bulkLoadDirectory());
+        };
+    }
+
+    @Bean
+    public ItemWriter<CommentRow> commentWriter(CommentRepository commentRepository) {
+        return switch (properties.getComment().getWriteMode()) {
+            case JPA -> new CommentJpaWriter(entityManager, commentRepository);
+            case JDBC -> jdbcWriter(RowStatements.COMMENT);
+            case BULK_LOAD -> new BulkLoadItemWriter<>(RowTables.COMMENT, bulkLoader, bulkLoadDirectory());
+        };
+    }
+
+    @Bean
+    public ItemWriter<ReplyRow> replyWriter(ReplyRepository replyRepository) {
+        return switch (properties.getReply().getWriteMode()) {
+            case JPA -> new ReplyJpaWriter(entityManager, replyRepository);
+            case JDBC -> jdbcWriter(RowStatements.REPLY);
+            case BULK_LOAD -> new BulkLoadItemWriter<>(RowTables.REPLY, bulkLoader, bulkLoadDirectory());
+        };
+    }
+
+    private <T> ItemWriter<T> jdbcWriter(RowStatement<T> statement) {
+        return new JdbcBatchItemWriterBuilder<T>()
+                .dataSource(dataSource)
+                .sql(statement.insertSql())
+                .itemPreparedStatementSetter(statement::bind)
+                .assertUpdates(false)
+                .build();
+    }
+
+    private Path bulkLoadDirectory() {
+        return Path.of(properties.getBulkLoad().getDirectory());
+    }
+}
@@ -0,0 +1,10 @@
+package todoktodok.batch.writer;
+
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 샤드 DB 하나와 그 DB에 쓰는 트랜잭션
+public record Shard(int index, String url, DataSource dataSource, JdbcTemplate jdbcTemplate,
+                    TransactionTemplate transactionTemplate) {
+}
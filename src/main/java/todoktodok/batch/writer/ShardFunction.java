@@ -0,0 +1,9 @@
+package todoktodok.batch.writer;
+
+// 샤드 키(member_id)로 행을 쓸 샤드 번호(0..shardCount-1)를 정한다
+// ShardFunction 빈을 등록하면 sharding.function 대신 그 빈을 사용한다
+@FunctionalInterface
+public interface ShardFunction {
+
+    int shardOf(long key, int shardCount);
+}
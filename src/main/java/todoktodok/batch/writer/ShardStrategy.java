@@ -0,0 +1,22 @@
+package todoktodok.batch.writer;
+
+import todoktodok.batch.generator.RowHash;
+
+public enum ShardStrategy implements ShardFunction {
+
+    // key % shardCount, 연속된 회원이 샤드를 번갈아 가진다
+    MODULO {
+        @Override
+        public int shardOf(long key, int shardCount) {
+            return (int) Math.floorMod(key, (long) shardCount);
+        }
+    },
+
+    // 키를 섞은 뒤 나눈다. 키에 규칙성이 있어도 샤드에 고르게 퍼진다
+    HASH {
+        @Override
+        public int shardOf(long key, int shardCount) {
+            return (int) (((RowHash.mix(key) >>> 32) * shardCount) >>> 32);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package todoktodok.batch.writer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ToLongFunction;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+// 청크를 샤드별로 나눠 샤드마다 하나의 쓰기 작업(가상 스레드)으로 동시에 저장한다
+// shardKey가 없으면(회원, 책) 모든 샤드에 같은 행을 복제한다
+// 샤드마다 별도 트랜잭션으로 커밋하므로, 재시작해 청크를 다시 쓰면 같은 ID 범위를 먼저 지우고 다시 넣는다
+public class ShardedItemWriter<T> implements ItemWriter<ShardedRow<T>> {
+
+    private final Shards shards;
+    private final RowStatement<T> statement;
+    private final ToLongFunction<T> shardKey;
+    private final ShardFunction shardFunction;
+    private final String insertSql;
+    private final String deleteSql;
+
+    public ShardedItemWriter(Shards shards, RowStatement<T> statement, ToLongFunction<T> shardKey,
+                             ShardFunction shardFunction) {
+        this.shards = shards;
+        this.statement = statement;
+        this.shardKey = shardKey;
+        this.shardFunction = shardFunction;
+        this.insertSql = statement.insertWithIdSql();
+        this.deleteSql = "DELETE FROM " + statement.table() + " WHERE id BETWEEN ? AND ?";
+    }
+
+    public static <T> ShardedItemWriter<T> replicated(Shards shards, RowStatement<T> statement) {
+        return new ShardedItemWriter<>(shards, statement, null, null);
+    }
+
+    @Override
+    public void write(Chunk<? extends ShardedRow<T>> chunk) throws Exception {
+        List<Shard> targets = shards.all();
+        List<List<ShardedRow<T>>> rowsByShard = split(chunk, targets.size());
+        // 청크의 ID는 파티션 안에서 연속된 행 번호이므로 범위 하나로 이전 시도의 행을 지울 수 있다
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        for (ShardedRow<T> row : chunk) {
+            minId = Math.min(minId, row.id());
+            maxId = Math.max(maxId, row.id());
+        }
+
+        List<Future<?>> writes = new ArrayList<>(targets.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Shard shard : targets) {
+                List<ShardedRow<T>> rows = rowsByShard.get(shard.index());
+                if (!rows.isEmpty()) {
+                    long from = minId;
+                    long to = maxId;
+                    writes.add(executor.submit(() -> write(shard, rows, from, to)));
+                }
+            }
+        }
+        for (Future<?> write : writes) {
+            try {
+                write.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private List<List<ShardedRow<T>>> split(Chunk<? extends ShardedRow<T>> chunk, int shardCount) {
+        List<List<ShardedRow<T>>> rowsByShard = new ArrayList<>(shardCount);
+        if (shardKey == null) {
+            List<ShardedRow<T>> all = new ArrayList<>(chunk.getItems());
+            for (int i = 0; i < shardCount; i++) {
+                rowsByShard.add(all);
+            }
+            return rowsByShard;
+        }
+        for (int i = 0; i < shardCount; i++) {
+            rowsByShard.add(new ArrayList<>(chunk.size() / shardCount + 1));
+        }
+        for (ShardedRow<T> row : chunk) {
+            rowsByShard.get(shardFunction.shardOf(shardKey.applyAsLong(row.row()), shardCount)).add(row);
+        }
+        return rowsByShard;
+    }
+
+    private void write(Shard shard, List<ShardedRow<T>> rows, long minId, long maxId) {
+        shard.transactionTemplate().executeWithoutResult(status -> {
+            shard.jdbcTemplate().update(deleteSql, minId, maxId);
+            shard.jdbcTemplate().batchUpdate(insertSql, rows, rows.size(), (ps, row) -> {
+                int next = statement.bind(row.row(), ps);
+                ps.setLong(next, row.id());
+            });
+        });
+    }
+}
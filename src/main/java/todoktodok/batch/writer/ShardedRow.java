@@ -0,0 +1,5 @@
+package todoktodok.batch.writer;
+
+// 샤드에 쓸 행과 그 ID. 여러 DB에 나눠 쓰므로 ID는 DB의 IDENTITY가 아니라 행 번호다
+public record ShardedRow<T>(long id, T row) {
+}
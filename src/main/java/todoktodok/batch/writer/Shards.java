@@ -0,0 +1,34 @@
+package todoktodok.batch.writer;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.List;
+
+// sharding.shards로 설정한 샤드 DB 목록 (순서가 샤드 번호). 애플리케이션이 끝날 때 커넥션 풀을 닫는다
+public class Shards implements AutoCloseable {
+
+    private final List<Shard> shards;
+
+    public Shards(List<Shard> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    public List<Shard> all() {
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("generation.sharding.shards에 샤드 DB가 설정되지 않았습니다.");
+        }
+        return shards;
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            if (shard.dataSource() instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+}
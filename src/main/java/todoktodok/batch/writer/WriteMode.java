@@ -0,0 +1,7 @@
+package todoktodok.batch.writer;
+
+public enum WriteMode {
+    JPA,
+    JDBC,
+    BULK_LOAD
+}
@@ -0,0 +1,64 @@
+-- shardedDataGenerationJob이 각 샤드에 만드는 테이블 (MySQL, H2 공용)
+-- ID는 행 번호로 채우므로 AUTO_INCREMENT를 쓰지 않는다
+-- 회원과 책은 모든 샤드에 복제되므로 외래 키를 유지하고, 다른 샤드에 있을 수 있는 토론/댓글을 가리키는 외래 키는 두지 않는다
+-- 조회용 보조 인덱스(comment.discussion_id 등)는 MySQL과 H2의 문법이 달라 적재 후 필요한 샤드에서 직접 만든다
+
+CREATE TABLE IF NOT EXISTS member (
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    email           VARCHAR(255) NOT NULL,
+    nickname        VARCHAR(255) NOT NULL,
+    profile_image   VARCHAR(255) NOT NULL,
+    profile_message VARCHAR(255),
+    created_at      DATETIME(6),
+    modified_at     DATETIME(6),
+    deleted_at      DATETIME(6)
+);
+
+CREATE TABLE IF NOT EXISTS book (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    title       VARCHAR(255) NOT NULL,
+    summary     VARCHAR(255),
+    author      VARCHAR(255) NOT NULL,
+    publisher   VARCHAR(255) NOT NULL,
+    isbn        VARCHAR(13)  NOT NULL,
+    image       VARCHAR(255),
+    created_at  DATETIME(6),
+    modified_at DATETIME(6),
+    deleted_at  DATETIME(6)
+);
+
+CREATE TABLE IF NOT EXISTS discussion (
+    id          BIGINT        NOT NULL PRIMARY KEY,
+    title       VARCHAR(255)  NOT NULL,
+    content     VARCHAR(2550) NOT NULL,
+    view_count  BIGINT        NOT NULL DEFAULT 0,
+    member_id   BIGINT        NOT NULL,
+    book_id     BIGINT        NOT NULL,
+    created_at  DATETIME(6),
+    modified_at DATETIME(6),
+    deleted_at  DATETIME(6),
+    CONSTRAINT fk_shard_discussion_member FOREIGN KEY (member_id) REFERENCES member (id),
+    CONSTRAINT fk_shard_discussion_book FOREIGN KEY (book_id) REFERENCES book (id)
+);
+
+CREATE TABLE IF NOT EXISTS comment (
+    id            BIGINT        NOT NULL PRIMARY KEY,
+    content       VARCHAR(2048) NOT NULL,
+    member_id     BIGINT        NOT NULL,
+    discussion_id BIGINT        NOT NULL,
+    created_at    DATETIME(6),
+    modified_at   DATETIME(6),
+    deleted_at    DATETIME(6),
+    CONSTRAINT fk_shard_comment_member FOREIGN KEY (member_id) REFERENCES member (id)
+);
+
+CREATE TABLE IF NOT EXISTS reply (
+    id          BIGINT        NOT NULL PRIMARY KEY,
+    content     VARCHAR(2048) NOT NULL,
+    member_id   BIGINT        NOT NULL,
+    comment_id  BIGINT        NOT NULL,
+    created_at  DATETIME(6),
+    modified_at DATETIME(6),
+    deleted_at  DATETIME(6),
+    CONSTRAINT fk_shard_reply_member FOREIGN KEY (member_id) REFERENCES member (id)
+);
@@ -0,0 +1,81 @@
+package todoktodok.batch.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class IdPoolTest {
+
+    @Test
+    @DisplayName("빈 번호 없는 1..count는 index + 1을 돌려준다")
+    void sequence() {
+        IdPool pool = IdPool.sequence(5);
+
+        assertThat(pool.size()).isEqualTo(5);
+        assertThat(LongStream.range(0, 5).map(index -> pool.idAt((int) index))).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("빈 번호가 적으면 범위로 압축하고, 처음과 끝 근처의 빈 번호도 건너뛴다")
+    void rangeWithGaps() {
+        long[] ids = {3, 4, 6, 7, 10, 11, 12};
+        IdPool pool = IdPool.of(ids, ids.length);
+
+        assertThat(pool).isInstanceOf(IdPool.RangeIdPool.class);
+        for (int index = 0; index < ids.length; index++) {
+            assertThat(pool.idAt(index)).as("index %d", index).isEqualTo(ids[index]);
+        }
+    }
+
+    @Test
+    @DisplayName("연속으로 비어 있는 번호가 여러 구간에 있어도 원래 배열과 같다")
+    void randomGaps() {
+        Random random = new Random(42);
+        long[] ids = new long[10_000];
+        long id = 100;
+        for (int i = 0; i < ids.length; i++) {
+            // 행 열 개에 하나꼴로 앞에 1~3개씩 번호를 비운다
+            id += random.nextInt(10) == 0 ? 1 + random.nextInt(3) : 0;
+            ids[i] = id++;
+        }
+        IdPool pool = IdPool.of(ids, ids.length);
+
+        assertThat(pool).isInstanceOf(IdPool.RangeIdPool.class);
+        for (int index = 0; index < ids.length; index++) {
+            assertThat(pool.idAt(index)).isEqualTo(ids[index]);
+        }
+    }
+
+    @Test
+    @DisplayName("빈 번호가 행 수보다 많으면 배열을 그대로 쓴다")
+    void sparseIdsUseArray() {
+        long[] ids = {1, 100, 1_000, 10_000};
+        IdPool pool = IdPool.of(ids, ids.length);
+
+        assertThat(pool).isInstanceOf(IdPool.ArrayIdPool.class);
+        assertThat(pool.idAt(3)).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("범위를 벗어난 index는 예외를 던진다")
+    void outOfRange() {
+        IdPool pool = IdPool.of(new long[]{1, 2, 4}, 3);
+
+        assertThatThrownBy(() -> pool.idAt(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> pool.idAt(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("size보다 긴 배열은 앞의 size개만 쓴다")
+    void usesOnlySizePrefix() {
+        IdPool pool = IdPool.of(new long[]{1, 2, 3, 0, 0}, 3);
+
+        assertThat(pool.size()).isEqualTo(3);
+        assertThat(pool.idAt(2)).isEqualTo(3);
+        assertThat(IdPool.of(new long[0], 0).isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,96 @@
+package todoktodok.batch.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class IndexSamplerTest {
+
+    // 열마다 하위 32비트를 이만큼 고르게 나눠 훑는다
+    private static final int STEPS_PER_COLUMN = 1 << 16;
+
+    @Test
+    @DisplayName("alias 테이블의 열별 임계값과 alias를 합치면 가중치 비율이 된다")
+    void aliasTableMatchesWeights() {
+        double[] weights = {5, 1, 0.5, 3, 0.25, 2, 0};
+        double[] frequencies = sweep(new IndexSampler.AliasSampler(weights), weights.length);
+
+        double sum = 0;
+        for (double weight : weights) {
+            sum += weight;
+        }
+        for (int index = 0; index < weights.length; index++) {
+            assertThat(frequencies[index]).as("index %d", index).isCloseTo(weights[index] / sum, within(1e-4));
+        }
+    }
+
+    @Test
+    @DisplayName("Zipf 분포는 순위 k의 가중치 1 / (k + 1)^exponent를 따른다")
+    void zipfFollowsRankWeights() {
+        int size = 100;
+        double exponent = 1.1;
+        double[] frequencies = sweep(IndexSampler.zipf(size, exponent), size);
+
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+        }
+        for (int rank = 0; rank < size; rank++) {
+            assertThat(frequencies[rank]).as("rank %d", rank)
+                    .isCloseTo(1.0 / Math.pow(rank + 1, exponent) / sum, within(1e-4));
+        }
+    }
+
+    @Test
+    @DisplayName("확률이 1인 열은 하위 비트가 모두 1이어도 자기 자신을 돌려준다")
+    void fullColumnsReturnThemselves() {
+        int size = 8;
+        IndexSampler sampler = IndexSampler.zipf(size, 0);
+
+        for (int column = 0; column < size; column++) {
+            assertThat(IndexSampler.uniform(size).sample(bits(column, size, 0))).isEqualTo(column);
+            assertThat(sampler.sample(bits(column, size, 0xFFFFFFFFL))).isEqualTo(column);
+            assertThat(sampler.sample(bits(column, size, 0))).isEqualTo(column);
+        }
+    }
+
+    @Test
+    @DisplayName("어떤 64비트 값이든 [0, size) 안의 인덱스를 돌려준다")
+    void staysInRange() {
+        SplittableRandom random = new SplittableRandom(7);
+        IndexSampler zipf = IndexSampler.zipf(1000, 1.5);
+        IndexSampler uniform = IndexSampler.uniform(1000);
+
+        for (int i = 0; i < 100_000; i++) {
+            long bits = random.nextLong();
+            assertThat(zipf.sample(bits)).isBetween(0, 999);
+            assertThat(uniform.sample(bits)).isBetween(0, 999);
+        }
+        assertThat(zipf.sample(-1L)).isBetween(0, 999);
+        assertThat(IndexSampler.zipf(1, 1.0).sample(-1L)).isZero();
+    }
+
+    // 열마다 같은 수의 하위 비트 값을 넣어 각 인덱스가 뽑히는 비율을 구한다 (난수 없이 정확한 비율)
+    private double[] sweep(IndexSampler sampler, int size) {
+        long[] counts = new long[size];
+        for (int column = 0; column < size; column++) {
+            for (long step = 0; step < STEPS_PER_COLUMN; step++) {
+                counts[sampler.sample(bits(column, size, step * (1L << 32) / STEPS_PER_COLUMN))]++;
+            }
+        }
+        double[] frequencies = new double[size];
+        for (int index = 0; index < size; index++) {
+            frequencies[index] = (double) counts[index] / ((long) size * STEPS_PER_COLUMN);
+        }
+        return frequencies;
+    }
+
+    // 상위 32비트는 column 열을 고르는 가장 작은 값, 하위 32비트는 low
+    private long bits(int column, int size, long low) {
+        long high = ((long) column << 32) / size + 1;
+        return (high << 32) | low;
+    }
+}
@@ -0,0 +1,101 @@
+package todoktodok.batch.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+import todoktodok.batch.config.GenerationProperties.AdaptiveBatchProperties;
+import todoktodok.batch.config.GenerationProperties.PipelineProperties;
+import todoktodok.batch.metrics.GenerationMetrics;
+
+class PipelinedGenerationTaskletTest {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // 같은 행 번호를 두 번 쓰면 기본 키 위반으로 실패한다
+        jdbcTemplate.execute("CREATE TABLE generated_row (id BIGINT PRIMARY KEY)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("세그먼트 중간에 실패한 뒤 생성 스레드 수를 바꿔 재시작해도 커밋된 배치를 다시 쓰지 않는다")
+    void restartSkipsCommittedBatches() throws Exception {
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        stepExecution.getExecutionContext().putLong(IndexRangePartitioner.MIN_INDEX, 1);
+        stepExecution.getExecutionContext().putLong(IndexRangePartitioner.MAX_INDEX, 100);
+        AtomicBoolean failOnce = new AtomicBoolean(true);
+
+        assertThatThrownBy(() -> execute(tasklet(2, failOnce), stepExecution))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(count()).isLessThan(100);
+
+        // 생성 스레드 범위가 이전 실행과 달라져 커밋된 구간의 중간에서 시작하는 스레드가 생긴다
+        RepeatStatus status = execute(tasklet(3, failOnce), stepExecution);
+
+        assertThat(status).isEqualTo(RepeatStatus.FINISHED);
+        assertThat(count()).isEqualTo(100);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(id) FROM generated_row", Long.class)).isEqualTo(5050);
+    }
+
+    private RepeatStatus execute(PipelinedGenerationTasklet<Long> tasklet, StepExecution stepExecution)
+            throws Exception {
+        StepContribution contribution = stepExecution.createStepContribution();
+        return tasklet.execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+    }
+
+    private PipelinedGenerationTasklet<Long> tasklet(int producers, AtomicBoolean failOnce) {
+        PipelineProperties pipeline = new PipelineProperties();
+        pipeline.setProducers(producers);
+        pipeline.setWriters(2);
+        pipeline.setQueueCapacity(4);
+        pipeline.setSegmentSize(100);
+
+        // 41번 행이 든 배치를 처음 쓸 때만 저장한 뒤 실패해, 그 배치의 트랜잭션을 롤백시킨다
+        ItemWriter<Long> writer = chunk -> {
+            jdbcTemplate.batchUpdate("INSERT INTO generated_row (id) VALUES (?)", chunk.getItems(), chunk.size(),
+                    (ps, id) -> ps.setLong(1, id));
+            if (chunk.getItems().contains(41L) && failOnce.getAndSet(false)) {
+                throw new IllegalStateException("쓰기 실패");
+            }
+        };
+        return new PipelinedGenerationTasklet<>(stepExecution -> (ItemProcessor<Long, Long>) index -> index, writer,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                new PipelineCheckpoints(dataSource), pipeline, 7, new AdaptiveBatchProperties(),
+                new GenerationMetrics("pipelinedTest"));
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM generated_row", Long.class);
+    }
+}
@@ -0,0 +1,106 @@
+package todoktodok.batch.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveBatchSizerTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    @DisplayName("처리량이 나빠지지 않는 동안 window번 쓰기마다 크기를 두 배로 늘린다")
+    void slowStartDoublesPerWindow() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(100, 10, 1000, Duration.ofSeconds(1), 2);
+
+        sizer.record(100, MILLIS);
+        assertThat(sizer.size()).isEqualTo(100);
+        sizer.record(100, MILLIS);
+        assertThat(sizer.size()).isEqualTo(200);
+
+        sizer.record(200, 2 * MILLIS);
+        sizer.record(200, 2 * MILLIS);
+        assertThat(sizer.size()).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("두 배로 늘려 처리량이 떨어지면 직전 크기로 돌아가 작은 폭으로 찾는다")
+    void slowStartEndsOnWorseThroughput() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(100, 10, 1000, Duration.ofSeconds(1), 1);
+
+        sizer.record(100, MILLIS);
+        sizer.record(200, 2 * MILLIS);
+        assertThat(sizer.size()).isEqualTo(400);
+
+        // 400행에 8ms: 행당 시간이 두 배가 됐다
+        sizer.record(400, 8 * MILLIS);
+        assertThat(sizer.size()).isEqualTo(200);
+
+        // 이후로는 200 / 8 = 25씩 움직인다
+        sizer.record(200, 2 * MILLIS);
+        assertThat(sizer.size()).isEqualTo(225);
+    }
+
+    @Test
+    @DisplayName("처리량이 허용 범위보다 떨어지면 방향을 바꾼다")
+    void hillClimbingReversesDirection() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(100, 10, 1000, Duration.ofSeconds(1), 1);
+        sizer.record(100, MILLIS);
+        sizer.record(200, 2 * MILLIS);
+        sizer.record(400, 8 * MILLIS);
+        sizer.record(200, 2 * MILLIS);
+        assertThat(sizer.size()).isEqualTo(225);
+
+        sizer.record(225, 3 * MILLIS);
+        assertThat(sizer.size()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("쓰기 한 번이 상한 지연을 넘으면 곧바로 절반으로 줄이고 최소 크기 아래로는 내려가지 않는다")
+    void ceilingBreachHalvesSize() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1000, 100, 5000, Duration.ofMillis(100), 4);
+
+        sizer.record(1000, 200 * MILLIS);
+        assertThat(sizer.size()).isEqualTo(500);
+        assertThat(sizer.ceilingBreaches()).isEqualTo(1);
+
+        for (int i = 0; i < 5; i++) {
+            sizer.record(sizer.size(), 200 * MILLIS);
+        }
+        assertThat(sizer.size()).isEqualTo(100);
+        assertThat(sizer.ceilingBreaches()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘겨 늘리지 않는다")
+    void clampsToMaxSize() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(300, 10, 500, Duration.ofSeconds(1), 1);
+
+        sizer.record(300, MILLIS);
+        assertThat(sizer.size()).isEqualTo(500);
+        sizer.record(500, MILLIS);
+        assertThat(sizer.size()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("고정 크기는 기록과 관계없이 바뀌지 않는다")
+    void fixedNeverChanges() {
+        AdaptiveBatchSizer sizer = AdaptiveBatchSizer.fixed(250);
+
+        sizer.record(250, Duration.ofMinutes(1).toNanos());
+        sizer.record(250, 1);
+
+        assertThat(sizer.size()).isEqualTo(250);
+        assertThat(sizer.ceilingBreaches()).isZero();
+    }
+
+    @Test
+    @DisplayName("최소 크기가 최대 크기보다 크면 만들 수 없다")
+    void rejectsInvalidRange() {
+        assertThatThrownBy(() -> new AdaptiveBatchSizer(100, 200, 100, Duration.ofSeconds(1), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
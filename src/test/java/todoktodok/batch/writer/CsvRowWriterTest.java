@@ -0,0 +1,95 @@
+package todoktodok.batch.writer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CsvRowWriterTest {
+
+    @Test
+    @DisplayName("문자열은 큰따옴표로 감싸고 안의 큰따옴표는 두 번 쓴다")
+    void escapesQuotes() throws IOException {
+        String csv = write(writer -> {
+            writer.field("say \"hi\"");
+            writer.field("\"");
+            writer.field("");
+            writer.endRow();
+        });
+
+        assertThat(csv).isEqualTo("\"say \"\"hi\"\"\",\"\"\"\",\"\"\n");
+    }
+
+    @Test
+    @DisplayName("쉼표와 줄바꿈은 따옴표 안에 그대로 둔다")
+    void keepsDelimitersInsideQuotes() throws IOException {
+        String csv = write(writer -> {
+            writer.field("a,b");
+            writer.field("line1\nline2\r\n");
+            writer.endRow();
+        });
+
+        assertThat(csv).isEqualTo("\"a,b\",\"line1\nline2\r\n\"\n");
+    }
+
+    @Test
+    @DisplayName("한글과 보조 평면 문자를 UTF-8로 인코딩한다")
+    void encodesUtf8() throws IOException {
+        String text = "토론 é 😀 끝";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvRowWriter writer = new CsvRowWriter(Channels.newChannel(out))) {
+            writer.field(text);
+            writer.endRow();
+        }
+
+        assertThat(out.toByteArray()).isEqualTo(("\"" + text + "\"\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("숫자는 따옴표 없이 쓰고, 행이 끝나면 구분자를 다시 시작한다")
+    void writesNumbersAndRows() throws IOException {
+        String csv = write(writer -> {
+            writer.field(0);
+            writer.field(-42);
+            writer.field(Long.MAX_VALUE);
+            writer.endRow();
+            writer.field(7);
+            writer.field("x");
+            writer.endRow();
+        });
+
+        assertThat(csv).isEqualTo("0,-42," + Long.MAX_VALUE + "\n7,\"x\"\n");
+    }
+
+    @Test
+    @DisplayName("버퍼보다 긴 값도 잘리지 않고 쓴 바이트 수를 센다")
+    void flushesAcrossBufferBoundary() throws IOException {
+        String longText = "가\"".repeat(40_000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvRowWriter writer = new CsvRowWriter(Channels.newChannel(out));
+        writer.field(longText);
+        writer.endRow();
+        writer.close();
+
+        String expected = "\"" + longText.replace("\"", "\"\"") + "\"\n";
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(writer.bytesWritten()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private String write(RowWriting writing) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvRowWriter writer = new CsvRowWriter(Channels.newChannel(out))) {
+            writing.write(writer);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private interface RowWriting {
+
+        void write(CsvRowWriter writer) throws IOException;
+    }
+}